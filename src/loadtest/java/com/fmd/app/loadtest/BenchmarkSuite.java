@@ -0,0 +1,398 @@
+package com.fmd.app.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fmd.app.loadtest.LoadTestRunner.OperationResult;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compares variants of the application under the same workload and writes the figures as a
+ * Markdown table to {@code benchmarks/<scenario>.md}.
+ * <p>
+ * Every variant is measured on a fresh process in its own working directory under
+ * {@code target/benchmark}: the suite runs the variant's preparation, starts the packaged jar
+ * with the variant's JVM options and environment, records the time until the readiness probe
+ * reports {@code UP} (the restart time, JVM start included) and until the first page of persons
+ * has been served, applies the {@link LoadTestRunner} workload configured by the
+ * {@code loadtest.*} properties and stops the process again.
+ * </p>
+ * <ul>
+ *     <li>{@code logging}: development logging, production logging without and with sampling</li>
+ *     <li>{@code startup}: without and with an AppCDS archive, plus Spring AOT with
+ *     {@code -Dbenchmark.aot=true} for a jar packaged with {@code -Pproduction,fast-start}</li>
+ *     <li>{@code storage}: the in-memory database and the file-backed {@code file} profile</li>
+ *     <li>{@code tiering}: the {@code file} profile with {@code benchmark.tiering.rows} (default
+ *     {@code 100000,1000000}) generated archived persons, and with as many active persons</li>
+ * </ul>
+ * <pre>{@code
+ * ./mvnw clean package -Pproduction
+ * ./mvnw -Ploadtest test-compile exec:java -Dloadtest.main=com.fmd.app.loadtest.BenchmarkSuite \
+ *     -Dbenchmark.scenario=logging -Dloadtest.rate=400 -Dloadtest.duration=PT60S
+ * }</pre>
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+public class BenchmarkSuite {
+
+    private static final Duration READY_TIMEOUT = Duration.ofMinutes(5);
+    private static final Duration STOP_TIMEOUT = Duration.ofSeconds(30);
+    private static final long POLL_MILLIS = 50;
+    private static final long INSERT_CHUNK = 100_000;
+    // far above the ids of the demo data and of persons created through the application
+    private static final long GENERATED_ID_OFFSET = 100_000_000;
+    private static final Map<String, String> FILE_PROFILE = Map.of("SPRING_PROFILES_ACTIVE", "file");
+
+    /**
+     * Prepares the working directory of a variant before the variant is started.
+     */
+    @FunctionalInterface
+    interface Preparation {
+        void prepare(BenchmarkSuite suite, Variant variant, Path workDir) throws Exception;
+    }
+
+    /**
+     * One configuration of the application to measure.
+     *
+     * @param name        the name shown in the results
+     * @param jvmOptions  additional JVM options
+     * @param environment additional environment variables
+     * @param preparation runs in the working directory before the variant is started, {@code null} for none
+     */
+    record Variant(String name, List<String> jvmOptions, Map<String, String> environment, Preparation preparation) {
+
+        Variant(String name, List<String> jvmOptions, Map<String, String> environment) {
+            this(name, jvmOptions, environment, null);
+        }
+    }
+
+    /**
+     * The measured figures of one variant.
+     *
+     * @param variant     the variant name
+     * @param readyMs     the time from process start until the readiness probe reported {@code UP}
+     * @param firstPageMs the time from process start until a login and the first page of persons completed
+     * @param all         all calls of the workload combined
+     * @param persons     the {@code getPersons} calls of every shape combined
+     */
+    record VariantResult(String variant, double readyMs, double firstPageMs, OperationResult all, OperationResult persons) {}
+
+    private final LoadTestConfig config;
+    private final ObjectMapper objectMapper;
+    private final Path jar;
+    private final Path workRoot;
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    BenchmarkSuite(LoadTestConfig config, ObjectMapper objectMapper, Path jar, Path workRoot) {
+        this.config = config;
+        this.objectMapper = objectMapper;
+        this.jar = jar;
+        this.workRoot = workRoot;
+    }
+
+    /**
+     * Runs the scenario selected by {@code benchmark.scenario}.
+     *
+     * @param args ignored
+     * @throws Exception if a variant cannot be started or measured
+     */
+    public static void main(String[] args) throws Exception {
+        String scenario = System.getProperty("benchmark.scenario", "logging");
+        Path jar = Path.of(System.getProperty("benchmark.jar", "target/spring-boot-vaadin-hilla-1.0-SNAPSHOT.jar"));
+        Path resultsDir = Path.of(System.getProperty("benchmark.results-dir", "benchmarks"));
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalStateException("Build the application first (./mvnw clean package -Pproduction): " + jar);
+        }
+        BenchmarkSuite suite = new BenchmarkSuite(LoadTestConfig.fromSystemProperties(),
+                new ObjectMapper().findAndRegisterModules(), jar, Path.of("target", "benchmark", scenario));
+        List<VariantResult> results = new ArrayList<>();
+        for (Variant variant : variants(scenario)) {
+            System.out.println("Measuring " + variant.name());
+            results.add(suite.measure(variant));
+        }
+        suite.write(scenario, results, resultsDir.resolve(scenario + ".md"));
+    }
+
+    static List<Variant> variants(String scenario) {
+        return switch (scenario) {
+            case "logging" -> List.of(
+                    new Variant("development logging", List.of(), Map.of()),
+                    new Variant("prod logging, sampling off", List.of(),
+                            Map.of("SPRING_PROFILES_ACTIVE", "prod", "APP_LOG_SAMPLING", "false")),
+                    new Variant("prod logging", List.of(), Map.of("SPRING_PROFILES_ACTIVE", "prod")));
+            case "startup" -> startupVariants(Boolean.getBoolean("benchmark.aot"));
+            case "storage" -> storageVariants();
+            case "tiering" -> tieringVariants(Arrays.stream(System.getProperty("benchmark.tiering.rows", "100000,1000000")
+                    .split(",")).map(String::trim).map(Long::valueOf).toList());
+            default -> throw new IllegalArgumentException("Unknown benchmark scenario: " + scenario);
+        };
+    }
+
+    /**
+     * The start-up variants: without and with an AppCDS archive and, for a jar packaged with
+     * {@code -Pproduction,fast-start}, with Spring AOT as well. The archive is created by a
+     * training run like the one in the Dockerfile. Demo data seeding is off in all variants.
+     */
+    private static List<Variant> startupVariants(boolean aot) {
+        Map<String, String> environment = Map.of("APP_SEED_MODE", "never");
+        Preparation trainCds = (suite, variant, workDir) -> {
+            // the training run creates the archive the variant starts with
+            Variant training = new Variant(variant.name(), variant.jvmOptions().stream()
+                    .filter(option -> !option.startsWith("-XX:SharedArchiveFile="))
+                    .toList(), variant.environment());
+            suite.runUntilRefreshed(training, workDir, List.of("-XX:ArchiveClassesAtExit=app.jsa"), "training");
+        };
+        List<Variant> variants = new ArrayList<>(List.of(
+                new Variant("baseline", List.of(), environment),
+                new Variant("CDS", List.of("-XX:SharedArchiveFile=app.jsa"), environment, trainCds)));
+        if (aot) {
+            variants.add(new Variant("AOT + CDS", List.of("-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=app.jsa"),
+                    environment, trainCds));
+        }
+        return variants;
+    }
+
+    /**
+     * The storage variants: the default in-memory database, re-seeded from {@code data.sql} on
+     * every start, and the {@code file} profile restarting on a database that a previous run
+     * in the same working directory has seeded once.
+     */
+    private static List<Variant> storageVariants() {
+        return List.of(
+                new Variant("in-memory", List.of(), Map.of()),
+                new Variant("file", List.of(), FILE_PROFILE, seedOnce(null, 0)));
+    }
+
+    /**
+     * The tiering variants: the {@code file} profile with the demo data, with growing numbers of
+     * archived persons and, for the largest size, with the same number of active persons. The
+     * grid reads the active tier only, so its latency should stay flat as the archive grows.
+     */
+    private static List<Variant> tieringVariants(List<Long> sizes) {
+        List<Variant> variants = new ArrayList<>();
+        variants.add(new Variant("demo data only", List.of(), FILE_PROFILE, seedOnce(null, 0)));
+        for (long size : sizes) {
+            variants.add(new Variant("+" + size + " archived", List.of(), FILE_PROFILE, seedOnce("person_archive", size)));
+        }
+        long largest = sizes.stream().mapToLong(Long::longValue).max().orElse(0);
+        if (largest > 0) {
+            variants.add(new Variant("+" + largest + " active", List.of(), FILE_PROFILE, seedOnce("person", largest)));
+        }
+        return variants;
+    }
+
+    /**
+     * Creates a fresh database in the working directory with a seeding run and optionally adds
+     * generated persons to one of the tables.
+     */
+    private static Preparation seedOnce(String table, long rows) {
+        return (suite, variant, workDir) -> {
+            deleteRecursively(workDir.resolve("data"));
+            Map<String, String> seeding = new HashMap<>(variant.environment());
+            seeding.put("APP_SEED_MODE", "always");
+            suite.runUntilRefreshed(new Variant(variant.name(), variant.jvmOptions(), seeding), workDir, List.of(), "seeding");
+            if (rows > 0) {
+                insertPersons(workDir, table, rows);
+            }
+        };
+    }
+
+    /**
+     * Inserts generated persons into the file database of a stopped variant. Archived rows were
+     * last modified two years ago; active rows now, so the tier mover leaves them alone.
+     */
+    private static void insertPersons(Path workDir, String table, long rows) throws SQLException {
+        boolean archive = "person_archive".equals(table);
+        String sql = "insert into " + table
+                + " (id, version, first_name, last_name, email, phone, address, last_modified"
+                + (archive ? ", archived_at" : "") + ")"
+                + " select ? + x, 0, 'First' || mod(x, 997), 'Last' || mod(x, 1009), 'bench' || (? + x) || '@example.com',"
+                + " '555-' || mod(x, 10000), x || ' Benchmark Street',"
+                + (archive ? " current_timestamp - interval '2' year, current_timestamp" : " current_timestamp")
+                + " from system_range(1, ?)";
+        String url = "jdbc:h2:file:" + workDir.resolve("data").resolve("fmd").toAbsolutePath();
+        try (Connection connection = DriverManager.getConnection(url, "sa", "password");
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (long from = 0; from < rows; from += INSERT_CHUNK) {
+                long offset = GENERATED_ID_OFFSET + from;
+                statement.setLong(1, offset);
+                statement.setLong(2, offset);
+                statement.setLong(3, Math.min(INSERT_CHUNK, rows - from));
+                statement.executeUpdate();
+            }
+        }
+        System.out.println("Inserted " + rows + " persons into " + table);
+    }
+
+    VariantResult measure(Variant variant) throws Exception {
+        Path workDir = Files.createDirectories(workRoot.resolve(slug(variant.name())));
+        if (variant.preparation() != null) {
+            variant.preparation().prepare(this, variant, workDir);
+        }
+        long started = System.nanoTime();
+        Process process = start(variant, workDir, List.of(), "run");
+        try {
+            awaitReady(process, workDir);
+            double readyMs = millisSince(started);
+            loadFirstPage();
+            double firstPageMs = millisSince(started);
+            LoadTestRunner runner = new LoadTestRunner(config, objectMapper);
+            runner.run();
+            return new VariantResult(variant.name(), readyMs, firstPageMs,
+                    runner.combined("all", ""), runner.combined("getPersons", "getPersons"));
+        } finally {
+            stop(process);
+        }
+    }
+
+    /**
+     * Starts a variant with {@code spring.context.exit=onRefresh}, so that the context is
+     * refreshed once (running schema updates and seeding) and the process exits again.
+     *
+     * @param variant      the variant
+     * @param workDir      its working directory
+     * @param extraOptions further JVM options for this run
+     * @param logName      the name of the log file in the working directory
+     * @throws Exception if the run fails
+     */
+    void runUntilRefreshed(Variant variant, Path workDir, List<String> extraOptions, String logName) throws Exception {
+        List<String> options = new ArrayList<>(extraOptions);
+        options.add("-Dspring.context.exit=onRefresh");
+        Process process = start(variant, workDir, options, logName);
+        if (!process.waitFor(READY_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+            process.destroyForcibly().waitFor();
+            throw new IllegalStateException(logName + " of " + variant.name() + " did not finish, see " + workDir);
+        }
+        if (process.exitValue() != 0) {
+            throw new IllegalStateException(logName + " of " + variant.name() + " failed with exit code "
+                    + process.exitValue() + ", see " + workDir.resolve(logName + ".log"));
+        }
+    }
+
+    private Process start(Variant variant, Path workDir, List<String> extraOptions, String logName) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(variant.jvmOptions());
+        command.addAll(extraOptions);
+        command.add("-Dvaadin.launch-browser=false");
+        command.add("-Dserver.port=" + port(config.baseUrl()));
+        command.add("-jar");
+        command.add(jar.toAbsolutePath().toString());
+        ProcessBuilder builder = new ProcessBuilder(command)
+                .directory(workDir.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(workDir.resolve(logName + ".log").toFile());
+        builder.environment().putAll(variant.environment());
+        return builder.start();
+    }
+
+    private void awaitReady(Process process, Path workDir) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(config.baseUrl().resolve("/actuator/health/readiness"))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+        long deadline = System.nanoTime() + READY_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with code " + process.exitValue()
+                        + ", see " + workDir.resolve("run.log"));
+            }
+            try {
+                if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(POLL_MILLIS);
+        }
+        throw new IllegalStateException("Application did not become ready within " + READY_TIMEOUT);
+    }
+
+    private void loadFirstPage() throws IOException, InterruptedException {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HillaClient client = new HillaClient(config.baseUrl(), executor);
+            client.login(config.username(), config.password());
+            RequestMix.Call call = new RequestMix(objectMapper, config).firstPersonsPage();
+            client.call(call.endpoint(), call.method(), call.body());
+        }
+    }
+
+    private static void stop(Process process) throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(STOP_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+
+    private void write(String scenario, List<VariantResult> results, Path file) throws IOException {
+        StringBuilder markdown = new StringBuilder()
+                .append("# Benchmark: ").append(scenario).append("\n\n")
+                .append(String.format(Locale.ROOT, "- Measured %s on Java %s, %s, %d CPUs%n", Instant.now(),
+                        System.getProperty("java.version"), System.getProperty("os.name"),
+                        Runtime.getRuntime().availableProcessors()))
+                .append(String.format(Locale.ROOT, "- Workload: %.0f req/s offered for %s after %s warm-up, mix %s, %d sessions%n%n",
+                        config.rate(), config.duration(), config.warmup(), Arrays.toString(config.mix()), config.sessions()))
+                .append("| Variant | Ready (s) | First page (s) | Throughput (req/s) | Errors | getPersons p50 (ms) | getPersons p99 (ms) |\n")
+                .append("|---|---:|---:|---:|---:|---:|---:|\n");
+        for (VariantResult result : results) {
+            markdown.append(String.format(Locale.ROOT, "| %s | %.2f | %.2f | %.1f | %d | %.2f | %.2f |%n",
+                    result.variant(), result.readyMs() / 1000, result.firstPageMs() / 1000, result.all().throughput(),
+                    result.all().errors(), result.persons().p50Ms(), result.persons().p99Ms()));
+        }
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.writeString(file, markdown);
+        System.out.print(markdown);
+        System.out.println("Results written to " + file);
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private static int port(URI baseUrl) {
+        if (baseUrl.getPort() != -1) {
+            return baseUrl.getPort();
+        }
+        return "https".equals(baseUrl.getScheme()) ? 443 : 80;
+    }
+
+    private static double millisSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000.0;
+    }
+
+    private static String slug(String name) {
+        return name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-");
+    }
+}
@@ -0,0 +1,120 @@
+package com.fmd.app.loadtest;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.CookiePolicy;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A logged-in browser-like session calling Hilla endpoints.
+ * <p>
+ * Keeps the session cookie, reads the CSRF token and header name from the {@code _csrf} and
+ * {@code _csrf_header} meta tags of the index page, logs in by posting the login form and
+ * calls endpoints with JSON bodies at {@code /connect/{endpoint}/{method}}.
+ * </p>
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+public class HillaClient {
+
+    private static final Pattern CSRF_TOKEN = Pattern.compile("<meta name=\"_csrf\" content=\"([^\"]+)\"");
+    private static final Pattern CSRF_HEADER = Pattern.compile("<meta name=\"_csrf_header\" content=\"([^\"]+)\"");
+
+    private final URI baseUrl;
+    private final HttpClient httpClient;
+    private volatile String csrfToken;
+    private volatile String csrfHeader = "X-CSRF-TOKEN";
+
+    /**
+     * Creates an unauthenticated session.
+     *
+     * @param baseUrl  the application URL
+     * @param executor the executor running the HTTP client's asynchronous work
+     */
+    public HillaClient(URI baseUrl, Executor executor) {
+        this.baseUrl = baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager(null, CookiePolicy.ACCEPT_ALL))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(executor)
+                .build();
+    }
+
+    /**
+     * Logs in through the form login of the application.
+     *
+     * @param username the username
+     * @param password the password
+     * @throws IOException          if the login fails
+     * @throws InterruptedException if interrupted while waiting for a response
+     */
+    public void login(String username, String password) throws IOException, InterruptedException {
+        refreshCsrfToken();
+        String form = "username=" + encode(username) + "&password=" + encode(password) + "&_csrf=" + encode(csrfToken);
+        HttpResponse<Void> response = httpClient.send(HttpRequest.newBuilder(baseUrl.resolve("/login"))
+                        .header("Content-Type", "application/x-www-form-urlencoded")
+                        .POST(HttpRequest.BodyPublishers.ofString(form))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+        String location = response.headers().firstValue("Location").orElse("");
+        if (response.statusCode() >= 400 || location.contains("error")) {
+            throw new IOException("Login failed for " + username + ": HTTP " + response.statusCode() + " " + location);
+        }
+        // The session id and CSRF token change after authentication
+        refreshCsrfToken();
+    }
+
+    /**
+     * Calls an endpoint method.
+     *
+     * @param endpoint the endpoint class name
+     * @param method   the method name
+     * @param json     the JSON object holding the method parameters by name
+     * @return the JSON response body
+     * @throws IOException          if the call fails or returns an error status
+     * @throws InterruptedException if interrupted while waiting for the response
+     */
+    public String call(String endpoint, String method, String json) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(baseUrl.resolve("/connect/" + endpoint + "/" + method))
+                        .header("Content-Type", "application/json")
+                        .header(csrfHeader, csrfToken)
+                        .timeout(Duration.ofSeconds(30))
+                        .POST(HttpRequest.BodyPublishers.ofString(json))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException(endpoint + "." + method + " returned HTTP " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    private void refreshCsrfToken() throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(baseUrl.resolve("/")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        Matcher token = CSRF_TOKEN.matcher(response.body());
+        if (!token.find()) {
+            throw new IOException("No CSRF token found on " + baseUrl);
+        }
+        csrfToken = token.group(1);
+        Matcher header = CSRF_HEADER.matcher(response.body());
+        if (header.find()) {
+            csrfHeader = header.group(1);
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
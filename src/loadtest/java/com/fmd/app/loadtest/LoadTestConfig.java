@@ -0,0 +1,67 @@
+package com.fmd.app.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Settings of a load-test run, read from {@code loadtest.*} system properties.
+ *
+ * @param baseUrl             the application URL
+ * @param username            the user logging in through {@code /login}
+ * @param password            the user's password
+ * @param sessions            the number of independent logged-in sessions requests are spread over
+ * @param rate                the open-model arrival rate in requests per second
+ * @param warmup              how long requests are sent before measuring starts
+ * @param duration            how long requests are measured
+ * @param mix                 the relative weights of getPersons, getAuthenticatedUser and sayHello
+ * @param maxPageDepth        the deepest page index requested by getPersons
+ * @param resultsDir          the directory results are written to
+ * @param baseline            a previous result to compare against, or {@code null}
+ * @param regressionThreshold the relative increase of p99 latency or decrease of throughput that fails the run
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+public record LoadTestConfig(
+        URI baseUrl,
+        String username,
+        String password,
+        int sessions,
+        double rate,
+        Duration warmup,
+        Duration duration,
+        int[] mix,
+        int maxPageDepth,
+        Path resultsDir,
+        Path baseline,
+        double regressionThreshold
+) {
+
+    /**
+     * Reads the configuration from system properties, using defaults for missing values.
+     *
+     * @return the configuration
+     */
+    public static LoadTestConfig fromSystemProperties() {
+        String baseline = System.getProperty("loadtest.baseline");
+        return new LoadTestConfig(
+                URI.create(property("base-url", "http://localhost:8080")),
+                property("username", "user"),
+                property("password", "user"),
+                Integer.parseInt(property("sessions", "4")),
+                Double.parseDouble(property("rate", "50")),
+                Duration.parse(property("warmup", "PT10S")),
+                Duration.parse(property("duration", "PT60S")),
+                Arrays.stream(property("mix", "70,20,10").split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray(),
+                Integer.parseInt(property("max-page-depth", "4")),
+                Path.of(property("results-dir", "target/loadtest")),
+                baseline == null ? null : Path.of(baseline),
+                Double.parseDouble(property("regression-threshold", "0.10")));
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+}
@@ -0,0 +1,266 @@
+package com.fmd.app.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives the Hilla endpoints with an open-model workload and reports latency percentiles.
+ * <p>
+ * Requests are started at fixed intervals derived from {@code loadtest.rate}, each on its own
+ * virtual thread, regardless of how many earlier requests are still running. Latency is
+ * measured from the <em>intended</em> start time, so a stalled server shows up as queueing
+ * delay in the percentiles instead of silently lowering the offered load (coordinated
+ * omission). Results are written as JSON and, when {@code loadtest.baseline} points to an
+ * earlier result, compared against it; the process exits with status 2 on a regression.
+ * </p>
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+public class LoadTestRunner {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+
+    /**
+     * The measured figures of one operation.
+     *
+     * @param operation  the operation name
+     * @param count      the number of successful calls
+     * @param errors     the number of failed calls
+     * @param throughput the successful calls per second
+     * @param p50Ms      the median latency in milliseconds
+     * @param p90Ms      the 90th percentile latency in milliseconds
+     * @param p99Ms      the 99th percentile latency in milliseconds
+     * @param p999Ms     the 99.9th percentile latency in milliseconds
+     * @param maxMs      the maximum latency in milliseconds
+     */
+    public record OperationResult(String operation, long count, long errors, double throughput,
+                                  double p50Ms, double p90Ms, double p99Ms, double p999Ms, double maxMs) {}
+
+    /**
+     * The result of a run.
+     *
+     * @param startedAt       when measuring started
+     * @param rate            the offered arrival rate in requests per second
+     * @param durationSeconds the measured duration in seconds
+     * @param operations      the figures per operation
+     */
+    public record RunResult(Instant startedAt, double rate, double durationSeconds, List<OperationResult> operations) {}
+
+    private final LoadTestConfig config;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    LoadTestRunner(LoadTestConfig config, ObjectMapper objectMapper) {
+        this.config = config;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Runs the load test configured by system properties.
+     *
+     * @param args ignored
+     * @throws Exception if the run cannot be started or its results cannot be written
+     */
+    public static void main(String[] args) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        LoadTestRunner runner = new LoadTestRunner(config, objectMapper);
+        RunResult result = runner.run();
+        runner.print(result);
+        runner.write(result);
+        if (config.baseline() != null && !runner.compare(result, config.baseline())) {
+            System.exit(2);
+        }
+    }
+
+    RunResult run() throws IOException, InterruptedException {
+        RequestMix mix = new RequestMix(objectMapper, config);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<HillaClient> clients = new ArrayList<>();
+            for (int i = 0; i < config.sessions(); i++) {
+                HillaClient client = new HillaClient(config.baseUrl(), executor);
+                client.login(config.username(), config.password());
+                clients.add(client);
+            }
+            System.out.printf("Logged in %d session(s) as %s, offering %.1f req/s for %s after %s warm-up%n",
+                    clients.size(), config.username(), config.rate(), config.duration(), config.warmup());
+
+            long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / config.rate());
+            long start = System.nanoTime();
+            long measureFrom = start + config.warmup().toNanos();
+            long end = measureFrom + config.duration().toNanos();
+            Instant startedAt = Instant.now().plus(config.warmup());
+            for (long i = 0; ; i++) {
+                long intendedStart = start + i * intervalNanos;
+                if (intendedStart >= end) {
+                    break;
+                }
+                long wait = intendedStart - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                HillaClient client = clients.get((int) (i % clients.size()));
+                RequestMix.Call call = mix.next();
+                boolean measured = intendedStart >= measureFrom;
+                executor.execute(() -> execute(client, call, intendedStart, measured));
+            }
+            // wait for the requests still in flight
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+            return result(startedAt, config.duration().toNanos() / 1e9);
+        }
+    }
+
+    private void execute(HillaClient client, RequestMix.Call call, long intendedStart, boolean measured) {
+        try {
+            client.call(call.endpoint(), call.method(), call.body());
+            if (measured) {
+                long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart);
+                histograms.computeIfAbsent(call.operation(), key -> new ConcurrentHistogram(3)).recordValue(latencyMicros);
+            }
+        } catch (IOException e) {
+            if (measured) {
+                errors.computeIfAbsent(call.operation(), key -> new LongAdder()).increment();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private RunResult result(Instant startedAt, double durationSeconds) {
+        List<String> operations = new ArrayList<>(histograms.keySet());
+        errors.keySet().stream().filter(operation -> !operations.contains(operation)).forEach(operations::add);
+        return new RunResult(startedAt, config.rate(), durationSeconds, operations.stream()
+                .sorted()
+                .map(operation -> summarize(operation, histograms.getOrDefault(operation, new Histogram(3)),
+                        errors.getOrDefault(operation, new LongAdder()).sum(), durationSeconds))
+                .toList());
+    }
+
+    /**
+     * Combines all measured operations whose name starts with a prefix, e.g. the
+     * {@code getPersons} calls of every shape, into one result. Call after {@link #run()}.
+     *
+     * @param operation the name of the combined result
+     * @param prefix    the operation name prefix, empty for all operations
+     * @return the combined figures
+     */
+    OperationResult combined(String operation, String prefix) {
+        Histogram merged = new Histogram(3);
+        histograms.forEach((name, histogram) -> {
+            if (name.startsWith(prefix)) {
+                merged.add(histogram);
+            }
+        });
+        long failed = errors.entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith(prefix))
+                .mapToLong(entry -> entry.getValue().sum())
+                .sum();
+        return summarize(operation, merged, failed, config.duration().toNanos() / 1e9);
+    }
+
+    private static OperationResult summarize(String operation, Histogram histogram, long failed, double durationSeconds) {
+        return new OperationResult(operation, histogram.getTotalCount(), failed,
+                histogram.getTotalCount() / durationSeconds,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private void print(RunResult result) {
+        System.out.printf("%-40s %8s %7s %9s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (OperationResult op : result.operations()) {
+            System.out.printf("%-40s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    op.operation(), op.count(), op.errors(), op.throughput(),
+                    op.p50Ms(), op.p90Ms(), op.p99Ms(), op.p999Ms(), op.maxMs());
+        }
+    }
+
+    private void write(RunResult result) throws IOException {
+        Files.createDirectories(config.resultsDir());
+        Path file = config.resultsDir().resolve("loadtest-" + FILE_TIMESTAMP.format(result.startedAt()) + ".json");
+        objectMapper.writeValue(file.toFile(), result);
+        Files.copy(file, config.resultsDir().resolve("latest.json"), StandardCopyOption.REPLACE_EXISTING);
+        System.out.println("Results written to " + file);
+    }
+
+    /**
+     * Compares a result with a baseline. An operation regresses when its p99 latency grows,
+     * its throughput drops or its error rate grows by more than the configured threshold.
+     *
+     * @return {@code true} if no operation regressed
+     */
+    private boolean compare(RunResult result, Path baselineFile) throws IOException {
+        RunResult baseline = objectMapper.readValue(baselineFile.toFile(), RunResult.class);
+        double threshold = config.regressionThreshold();
+        boolean passed = true;
+        for (OperationResult current : result.operations()) {
+            OperationResult previous = baseline.operations().stream()
+                    .filter(op -> op.operation().equals(current.operation()))
+                    .findFirst()
+                    .orElse(null);
+            if (previous == null) {
+                continue;
+            }
+            List<String> regressions = new ArrayList<>();
+            if (current.p99Ms() > previous.p99Ms() * (1 + threshold)) {
+                regressions.add(String.format("p99 %.2f ms -> %.2f ms", previous.p99Ms(), current.p99Ms()));
+            }
+            if (current.throughput() < previous.throughput() * (1 - threshold)) {
+                regressions.add(String.format("throughput %.1f -> %.1f req/s", previous.throughput(), current.throughput()));
+            }
+            if (errorRate(current) > errorRate(previous) + threshold / 10) {
+                regressions.add(String.format("error rate %.2f%% -> %.2f%%", errorRate(previous) * 100, errorRate(current) * 100));
+            }
+            if (!regressions.isEmpty()) {
+                passed = false;
+                System.out.println("REGRESSION " + current.operation() + ": " + String.join(", ", regressions));
+            }
+        }
+        List<String> missing = baseline.operations().stream()
+                .map(OperationResult::operation)
+                .filter(name -> result.operations().stream().noneMatch(op -> op.operation().equals(name)))
+                .sorted(Comparator.naturalOrder())
+                .toList();
+        if (!missing.isEmpty()) {
+            System.out.println("Not exercised in this run: " + missing);
+        }
+        System.out.println(passed ? "No regressions against " + baselineFile : "Regressions found against " + baselineFile);
+        return passed;
+    }
+
+    private static double errorRate(OperationResult op) {
+        long total = op.count() + op.errors();
+        return total == 0 ? 0 : (double) op.errors() / total;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
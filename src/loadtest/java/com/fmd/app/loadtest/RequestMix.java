@@ -0,0 +1,120 @@
+package com.fmd.app.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates the requests of a load-test run according to the configured mix.
+ * <p>
+ * {@code getPersons} requests vary the page depth, page size, sort order and filter shape,
+ * so the run exercises the same spread of query plans the grid produces.
+ * </p>
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+public class RequestMix {
+
+    /**
+     * An endpoint call.
+     *
+     * @param operation the name the latency is recorded under
+     * @param endpoint  the endpoint class name
+     * @param method    the method name
+     * @param body      the JSON parameters
+     */
+    public record Call(String operation, String endpoint, String method, String body) {}
+
+    private static final int[] PAGE_SIZES = {10, 25, 50};
+    private static final List<List<String[]>> SORTS = List.of(
+            List.of(),
+            List.<String[]>of(new String[]{"lastName", "ASC"}),
+            List.<String[]>of(new String[]{"firstName", "DESC"}),
+            List.of(new String[]{"lastName", "ASC"}, new String[]{"firstName", "ASC"}));
+    private static final List<List<String[]>> FILTERS = List.of(
+            List.of(),
+            List.<String[]>of(new String[]{"lastName", "startsWith", "S"}),
+            List.<String[]>of(new String[]{"email", "contains", "example"}),
+            List.of(new String[]{"firstName", "contains", "a"}, new String[]{"address", "endsWith", "USA"}));
+
+    private final ObjectMapper objectMapper;
+    private final int[] cumulativeWeights;
+    private final int maxPageDepth;
+
+    /**
+     * Creates the generator.
+     *
+     * @param objectMapper the mapper used to build request bodies
+     * @param config       the run configuration
+     */
+    public RequestMix(ObjectMapper objectMapper, LoadTestConfig config) {
+        if (config.mix().length != 3) {
+            throw new IllegalArgumentException("loadtest.mix needs three weights: persons,user,hello");
+        }
+        this.objectMapper = objectMapper;
+        this.cumulativeWeights = new int[3];
+        int total = 0;
+        for (int i = 0; i < 3; i++) {
+            total += config.mix()[i];
+            cumulativeWeights[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("loadtest.mix needs at least one positive weight");
+        }
+        this.maxPageDepth = config.maxPageDepth();
+    }
+
+    /**
+     * Returns the next call, chosen at random according to the mix.
+     *
+     * @return the call
+     */
+    public Call next() {
+        int pick = ThreadLocalRandom.current().nextInt(cumulativeWeights[2]);
+        if (pick < cumulativeWeights[0]) {
+            return persons();
+        }
+        if (pick < cumulativeWeights[1]) {
+            return new Call("getAuthenticatedUser", "UserEndpoint", "getAuthenticatedUser", "{}");
+        }
+        return new Call("sayHello", "HelloWorldService", "sayHello", "{\"name\":\"load\"}");
+    }
+
+    /**
+     * Returns the call for the first unfiltered, unsorted page of persons, as loaded when the
+     * grid is opened.
+     *
+     * @return the call
+     */
+    public Call firstPersonsPage() {
+        ObjectNode body = objectMapper.createObjectNode();
+        ObjectNode page = body.putObject("pageSortRequest");
+        page.put("offset", 0);
+        page.put("pageSize", PAGE_SIZES[1]);
+        page.putArray("sortBy");
+        body.putArray("filter");
+        return new Call("getPersons[filters=0,sorts=0]", "PersonEndpoint", "getPersons", body.toString());
+    }
+
+    private Call persons() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        ObjectNode body = objectMapper.createObjectNode();
+        ObjectNode page = body.putObject("pageSortRequest");
+        page.put("offset", random.nextInt(maxPageDepth + 1));
+        page.put("pageSize", PAGE_SIZES[random.nextInt(PAGE_SIZES.length)]);
+        ArrayNode sortBy = page.putArray("sortBy");
+        List<String[]> sorts = SORTS.get(random.nextInt(SORTS.size()));
+        sorts.forEach(sort -> sortBy.addObject().put("sortBy", sort[0]).put("direction", sort[1]));
+        ArrayNode filter = body.putArray("filter");
+        List<String[]> filters = FILTERS.get(random.nextInt(FILTERS.size()));
+        filters.forEach(row -> filter.addObject().put("column", row[0]).put("operator", row[1]).put("value", row[2]));
+        // Record each filter shape separately so plan regressions are not averaged away
+        String operation = "getPersons[filters=" + filters.size() + ",sorts=" + sorts.size() + "]";
+        return new Call(operation, "PersonEndpoint", "getPersons", body.toString());
+    }
+}
@@ -24,12 +24,19 @@ export interface FilterRow {
     value: string;
 }
 
+export interface FilterValueSuggestion {
+    value: string;
+    count?: number;
+}
+
 interface AddFilterDialogProps {
     columns: FilterColumnOption[];
     operators?: FilterOperatorOption[];
     onApply: (rows: FilterRow[]) => void;
     onClear: () => void;
     currentFilters?: FilterRow[];
+    /** Optional lookup of existing values (with counts) for a column under the current filters. */
+    loadSuggestions?: (column: string, currentFilters: FilterRow[]) => Promise<FilterValueSuggestion[]>;
 }
 
 const DEFAULT_OPERATORS: FilterOperatorOption[] = [
@@ -47,13 +54,27 @@ export const AddFilterDialog: React.FC<AddFilterDialogProps> = ({
     onApply,
     onClear,
     currentFilters = [],
+    loadSuggestions,
 }) => {
     const [dialogOpen, setDialogOpen] = useState(false);
     const [filterRows, setFilterRows] = useState<FilterRow[]>([DEFAULT_FILTER]);
     const [editIndex, setEditIndex] = useState<number | null>(null);
+    const [suggestions, setSuggestions] = useState<Record<string, FilterValueSuggestion[]>>({});
+
+    const fetchSuggestions = (rowId: string, column: string) => {
+        if (!loadSuggestions || !column) {
+            return;
+        }
+        loadSuggestions(column, currentFilters)
+            .then(values => setSuggestions(prev => ({ ...prev, [rowId]: values })))
+            .catch(() => setSuggestions(prev => ({ ...prev, [rowId]: [] })));
+    };
 
     const handleRowChange = (idx: number, key: keyof FilterRow, value: string) => {
         setFilterRows(rows => rows.map((row, i) => i === idx ? { ...row, [key]: value } : row));
+        if (key === 'column') {
+            fetchSuggestions(filterRows[idx].id, value);
+        }
     };
 
     const addRow = () => setFilterRows(rows => [...rows, { ...DEFAULT_FILTER, id: crypto.randomUUID() }]);
@@ -71,6 +92,7 @@ export const AddFilterDialog: React.FC<AddFilterDialogProps> = ({
         setEditIndex(idx);
         const row = currentFilters[idx];
         setFilterRows([{ ...row }]);
+        fetchSuggestions(row.id, row.column);
     };
 
     const applyFilters = () => {
@@ -161,12 +183,25 @@ export const AddFilterDialog: React.FC<AddFilterDialogProps> = ({
                                 onValueChanged={e => handleRowChange(idx, 'operator', e.detail.value)}
                                 style={{ width: '10rem' }}
                             />
-                            <TextField
-                                label="Value"
-                                value={row.value}
-                                onChange={e => handleRowChange(idx, 'value', e.target.value)}
-                                style={{ width: '10rem' }}
-                            />
+                            {loadSuggestions ? (
+                                <ComboBox
+                                    label="Value"
+                                    allowCustomValue
+                                    items={(suggestions[row.id] ?? []).map(s => ({ label: s.count === undefined ? s.value : `${s.value} (${s.count})`, value: s.value }))}
+                                    itemLabelPath="label"
+                                    itemValuePath="value"
+                                    value={row.value}
+                                    onValueChanged={e => handleRowChange(idx, 'value', e.detail.value)}
+                                    style={{ width: '12rem' }}
+                                />
+                            ) : (
+                                <TextField
+                                    label="Value"
+                                    value={row.value}
+                                    onChange={e => handleRowChange(idx, 'value', e.target.value)}
+                                    style={{ width: '10rem' }}
+                                />
+                            )}
                             {filterRows.length > 1 && editIndex === null && (
                                 <Button theme="error tertiary" onClick={() => removeRow(idx)}>-</Button>
                             )}
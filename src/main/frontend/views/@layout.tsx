@@ -1,8 +1,9 @@
 import { createMenuItems, useViewConfig } from '@vaadin/hilla-file-router/runtime.js';
 import { effect, signal } from '@vaadin/hilla-react-signals';
 import { AppLayout, Avatar, Button, DrawerToggle, Icon, SideNav, SideNavItem } from '@vaadin/react-components';
+import { UserEndpoint } from 'Frontend/generated/endpoints';
 import { useAuth } from 'Frontend/util/auth.js';
-import { Suspense, useEffect } from 'react';
+import { Suspense, useEffect, useState } from 'react';
 import { Link, Outlet, useLocation, useNavigate } from 'react-router';
 
 const documentTitleSignal = signal('');
@@ -25,11 +26,18 @@ export default function MainLayout() {
   }, [currentTitle]);
 
   const { state, logout } = useAuth();
+  // In the stateless mode the user comes from the token without a picture, so it is loaded separately
+  const [lazyPicture, setLazyPicture] = useState<number[] | undefined>();
+  useEffect(() => {
+    setLazyPicture(undefined);
+    if (state.user && !state.user.profilePicture) {
+      UserEndpoint.getProfilePicture().then((picture) => setLazyPicture(picture));
+    }
+  }, [state.user]);
+  const profilePicture = state.user?.profilePicture ?? lazyPicture;
   const profilePictureUrl =
-    state.user &&
-    `data:image;base64,${btoa(
-      state.user.profilePicture.reduce((str, n) => str + String.fromCharCode((n + 256) % 256), ''),
-    )}`;
+    profilePicture &&
+    `data:image;base64,${btoa(profilePicture.reduce((str, n) => str + String.fromCharCode((n + 256) % 256), ''))}`;
   return (
     <AppLayout primarySection="drawer">
       <div slot="drawer" className="flex flex-col justify-between h-full p-m">
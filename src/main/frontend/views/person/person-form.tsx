@@ -1,6 +1,8 @@
 import { ViewConfig } from '@vaadin/hilla-file-router/types.js';
 import { useEffect, useState } from 'react';
 import { getPersons } from 'Frontend/generated/PersonEndpoint';
+import { getFacet } from 'Frontend/generated/FacetEndpoint';
+import Facet from 'Frontend/generated/com/fmd/app/facet/Facet.js';
 import { useSignal } from '@vaadin/hilla-react-signals';
 import { Grid } from '@vaadin/react-components/Grid.js';
 import { GridSortColumn } from '@vaadin/react-components/GridSortColumn.js';
@@ -9,7 +11,7 @@ import type Pagination from 'Frontend/generated/com/fmd/app/dto/Pagination.js';
 import type PageSortRequest from 'Frontend/generated/com/fmd/app/dto/PageSortRequest.js';
 import GridPaginationControls, { defaultPagination, pageSortRequest } from 'Frontend/components/pagination/GridPaginationControls';
 import type PersonDTO from 'Frontend/generated/com/fmd/app/dto/PersonDTO.js';
-import { AddFilterDialog, FilterRow } from 'Frontend/components/pagination/AddFilterDialog';
+import { AddFilterDialog, FilterRow, FilterValueSuggestion } from 'Frontend/components/pagination/AddFilterDialog';
 import { Button } from '@vaadin/react-components/Button.js';
 
 export const config: ViewConfig = {
@@ -30,8 +32,31 @@ const columns = [
   { label: 'Email', value: 'email' },
   { label: 'Phone', value: 'phone' },
   { label: 'Address', value: 'address' },
+  { label: 'Tier', value: 'tier' },
 ];
 
+// Rows not modified for a long time are archived; a "Tier equals all|archived" filter includes them
+const tierSuggestions: FilterValueSuggestion[] = [{ value: 'active' }, { value: 'archived' }, { value: 'all' }];
+
+// Facets offering value suggestions in the filter dialog; email suggests domains for "Ends with"
+const facetsByColumn: Record<string, { facet: Facet; prefix: string }> = {
+  firstName: { facet: Facet.FIRST_NAME, prefix: '' },
+  lastName: { facet: Facet.LAST_NAME, prefix: '' },
+  email: { facet: Facet.EMAIL_DOMAIN, prefix: '@' },
+  address: { facet: Facet.CITY, prefix: '' },
+};
+
+const loadSuggestions = async (column: string, currentFilters: FilterRow[]): Promise<FilterValueSuggestion[]> => {
+  if (column === 'tier') {
+    return tierSuggestions;
+  }
+  const mapping = facetsByColumn[column];
+  if (!mapping) {
+    return [];
+  }
+  const values = await getFacet(mapping.facet, currentFilters, 20);
+  return (values ?? []).map(v => ({ value: mapping.prefix + (v?.value ?? ''), count: v?.count ?? 0 }));
+};
 
 export default function PersonFormView() {
   const [persons, setPersons] = useState<PersonDTO[]>([]);
@@ -121,6 +146,7 @@ export default function PersonFormView() {
         onApply={applyFilters}
         onClear={() => setFilter([])}
         currentFilters={filter}
+        loadSuggestions={loadSuggestions}
       />
       <VerticalLayout theme="spacing-xs" style={{ width: '100%' }}>
         <Grid
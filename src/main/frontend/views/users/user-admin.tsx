@@ -0,0 +1,81 @@
+import { ViewConfig } from '@vaadin/hilla-file-router/types.js';
+import { useEffect, useState } from 'react';
+import { getUsers } from 'Frontend/generated/UserGridEndpoint';
+import { Grid } from '@vaadin/react-components/Grid.js';
+import { GridSortColumn } from '@vaadin/react-components/GridSortColumn.js';
+import { VerticalLayout } from '@vaadin/react-components/VerticalLayout.js';
+import type Pagination from 'Frontend/generated/com/fmd/app/dto/Pagination.js';
+import type PageSortRequest from 'Frontend/generated/com/fmd/app/dto/PageSortRequest.js';
+import type UserGridRow from 'Frontend/generated/com/fmd/app/dto/UserGridRow.js';
+import GridPaginationControls, { defaultPagination, pageSortRequest } from 'Frontend/components/pagination/GridPaginationControls';
+import { AddFilterDialog, FilterRow } from 'Frontend/components/pagination/AddFilterDialog';
+
+export const config: ViewConfig = {
+  menu: { order: 3, icon: 'line-awesome/svg/users-solid.svg' },
+  title: 'Users',
+  loginRequired: true,
+  rolesAllowed: ['ADMIN'],
+};
+
+const columns = [
+  { label: 'Username', value: 'username' },
+  { label: 'Name', value: 'name' },
+];
+
+export default function UserAdminView() {
+  const [users, setUsers] = useState<UserGridRow[]>([]);
+  const [pageData, setPageData] = useState<Pagination>(defaultPagination);
+  const [sortRequest, setSortRequest] = useState<PageSortRequest>(pageSortRequest);
+  const [filter, setFilter] = useState<FilterRow[]>([]);
+
+  const handlePageChanged = (newOffset: number, newPageSize: number) => {
+    setSortRequest((prev) => ({ ...prev, offset: newOffset, pageSize: newPageSize }));
+  };
+
+  const handleSort = (e: CustomEvent) => {
+    const direction = e.detail.value;
+    // @ts-ignore: Vaadin types do not include path, but it exists on the element
+    const path = (e.target as any).path;
+    setSortRequest((prev) => {
+      const others = (prev.sortBy ?? []).filter(s => s?.sortBy !== path);
+      const sortBy = direction ? [...others, { sortBy: path, direction: direction.toUpperCase() }] : others;
+      return { ...prev, sortBy, offset: 0 };
+    });
+  };
+
+  useEffect(() => {
+    getUsers(sortRequest, filter).then((pageResponse) => {
+      if (pageResponse?.content && pageResponse?.pagination) {
+        setUsers(pageResponse.content);
+        setPageData(pageResponse.pagination);
+      } else {
+        setUsers([]);
+        setPageData(defaultPagination);
+      }
+    }).catch(() => {
+      setUsers([]);
+      setPageData(defaultPagination);
+    });
+  }, [sortRequest, filter]);
+
+  return (
+    <VerticalLayout theme="spacing" style={{ padding: 'var(--lumo-space-m)' }}>
+      <AddFilterDialog
+        columns={columns}
+        onApply={(rows) => { setFilter(rows); setSortRequest((prev) => ({ ...prev, offset: 0 })); }}
+        onClear={() => setFilter([])}
+        currentFilters={filter}
+      />
+      <VerticalLayout theme="spacing-xs" style={{ width: '100%' }}>
+        <Grid items={users} multiSort multiSortPriority="append">
+          <GridSortColumn path="id" header="ID" autoWidth flexGrow={0} onDirectionChanged={handleSort} />
+          <GridSortColumn path="username" header="Username" autoWidth onDirectionChanged={handleSort} />
+          <GridSortColumn path="name" header="Name" onDirectionChanged={handleSort} />
+
+          <span slot="empty-state">No users found.</span>
+        </Grid>
+        <GridPaginationControls pageData={pageData} onPageChange={handlePageChanged} />
+      </VerticalLayout>
+    </VerticalLayout>
+  );
+}
@@ -1,19 +1,34 @@
 package com.fmd.app.data;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 
 /**
  * Represents a person in the application.
  * Contains person details such as first name, last name, email, and phone.
  * Extends AbstractEntity to inherit common entity properties.
+ * <p>
+ * This is the active (hot) tier; rows not modified for a while are moved to
+ * {@link PersonArchive} by the tier mover.
+ * </p>
+ * <p>
+ * Emails are unique ignoring case and surrounding spaces: the database derives
+ * {@code email_normalized} from {@code email} and keeps a unique index on it.
+ * </p>
  *
  * @author Shailesh Halor
  * @version 1.0
@@ -21,10 +36,12 @@ import lombok.Setter;
  */
 @Getter
 @Setter
-@AllArgsConstructor
 @NoArgsConstructor(access = lombok.AccessLevel.PROTECTED)
 @Entity
-@Table(name = "person")
+@EntityListeners(PersonEntityListener.class)
+@Table(name = "person",
+        indexes = @Index(name = "idx_person_last_modified", columnList = "last_modified"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_person_email_normalized", columnNames = "email_normalized"))
 public class Person extends AbstractEntity {
 
     @NotBlank(message = "First name is required")
@@ -40,9 +57,38 @@ public class Person extends AbstractEntity {
     @Size(max = 100, message = "Email must be less than 100 characters")
     private String email;
 
+    // Computed by the database, see EmailRegistry#normalize for the equivalent in Java
+    @Setter(lombok.AccessLevel.NONE)
+    @Column(name = "email_normalized", insertable = false, updatable = false,
+            columnDefinition = "varchar(100) generated always as (lower(trim(email)))")
+    private String emailNormalized;
+
     @Size(max = 15, message = "Phone number must be less than 15 characters")
     private String phone;
 
     @Size(max = 200, message = "Address must be less than 200 characters")
     private String address;
+
+    // Set by Hibernate on every insert and update; the default covers rows inserted by plain SQL
+    @UpdateTimestamp
+    @ColumnDefault("current_timestamp")
+    @Column(name = "last_modified", nullable = false)
+    private Instant lastModified;
+
+    /**
+     * Creates a new person.
+     *
+     * @param firstName the first name
+     * @param lastName  the last name
+     * @param email     the email address
+     * @param phone     the phone number
+     * @param address   the postal address
+     */
+    public Person(String firstName, String lastName, String email, String phone, String address) {
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.phone = phone;
+        this.address = address;
+    }
 }
@@ -0,0 +1,56 @@
+package com.fmd.app.data;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Subselect;
+import org.hibernate.annotations.Synchronize;
+
+import java.time.Instant;
+
+/**
+ * Read-only view over the active and the archived persons.
+ * <p>
+ * Used when the grid asks for all tiers, so paging and sorting still happen in the database.
+ * {@code archivedAt} is {@code null} for active rows.
+ * </p>
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@Getter
+@NoArgsConstructor(access = lombok.AccessLevel.PROTECTED)
+@Entity
+@Immutable
+@Subselect("""
+        select id, first_name, last_name, email, email_normalized, phone, address, last_modified,
+               cast(null as timestamp(6) with time zone) as archived_at
+        from person
+        union all
+        select id, first_name, last_name, email, email_normalized, phone, address, last_modified, archived_at
+        from person_archive""")
+@Synchronize({"person", "person_archive"})
+public class PersonAnyTier {
+
+    @Id
+    private Long id;
+
+    private String firstName;
+
+    private String lastName;
+
+    private String email;
+
+    private String emailNormalized;
+
+    private String phone;
+
+    private String address;
+
+    private Instant lastModified;
+
+    private Instant archivedAt;
+}
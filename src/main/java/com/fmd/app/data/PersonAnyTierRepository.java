@@ -0,0 +1,18 @@
+package com.fmd.app.data;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for the read-only PersonAnyTier view.
+ * Extends JpaRepository for paging and JpaSpecificationExecutor for advanced queries.
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@Repository
+public interface PersonAnyTierRepository extends JpaRepository<PersonAnyTier, Long>, JpaSpecificationExecutor<PersonAnyTier> {
+
+}
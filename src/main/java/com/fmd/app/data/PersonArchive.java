@@ -0,0 +1,57 @@
+package com.fmd.app.data;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Represents an archived (cold) person.
+ * <p>
+ * Rows are moved here from {@link Person} in bulk by the tier mover and keep their original
+ * id and version, so a row can be moved back to the active table unchanged. Archived rows are
+ * only read by the grid when a {@code tier} filter asks for them.
+ * </p>
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@Getter
+@Setter
+@NoArgsConstructor(access = lombok.AccessLevel.PROTECTED)
+@Entity
+@Table(name = "person_archive", indexes = @Index(name = "idx_person_archive_email_normalized", columnList = "email_normalized"))
+public class PersonArchive {
+
+    @Id
+    private Long id;
+
+    private int version;
+
+    private String firstName;
+
+    private String lastName;
+
+    private String email;
+
+    @Column(name = "email_normalized", insertable = false, updatable = false,
+            columnDefinition = "varchar(100) generated always as (lower(trim(email)))")
+    private String emailNormalized;
+
+    private String phone;
+
+    private String address;
+
+    @Column(name = "last_modified", nullable = false)
+    private Instant lastModified;
+
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+}
@@ -0,0 +1,51 @@
+package com.fmd.app.data;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for PersonArchive entity.
+ * Extends JpaRepository for basic CRUD operations and JpaSpecificationExecutor for advanced queries.
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@Repository
+public interface PersonArchiveRepository extends JpaRepository<PersonArchive, Long>, JpaSpecificationExecutor<PersonArchive> {
+
+    /**
+     * Checks whether an email is in use, using the normalised email index.
+     *
+     * @param emailNormalized the email, lower case and trimmed
+     * @return {@code true} if a person has that email
+     */
+    boolean existsByEmailNormalized(String emailNormalized);
+
+    /**
+     * Returns which of the given emails are in use.
+     *
+     * @param emailsNormalized the emails, lower case and trimmed
+     * @return the emails in use, normalised
+     */
+    @Query("select p.emailNormalized from PersonArchive p where p.emailNormalized in :emails")
+    List<String> findEmailsNormalizedIn(@Param("emails") Collection<String> emailsNormalized);
+
+    /**
+     * Reads the next batch of normalised emails in email order (keyset paging over the
+     * normalised email index), used to rebuild in-memory email lookups.
+     *
+     * @param after the last email of the previous batch, empty for the first batch
+     * @param limit the batch size
+     * @return the normalised emails greater than {@code after}, in order
+     */
+    @Query("select p.emailNormalized from PersonArchive p where p.emailNormalized > :after order by p.emailNormalized")
+    List<String> findEmailsNormalizedAfter(@Param("after") String after, Limit limit);
+}
@@ -0,0 +1,34 @@
+package com.fmd.app.data;
+
+import com.fmd.app.dto.PersonDTO;
+
+/**
+ * Callback interface for beans that maintain derived, in-memory state about persons.
+ * <p>
+ * Implementations are notified by {@link PersonEntityListener} after a person has been
+ * inserted, updated or deleted, and by the tier mover after a person has been archived or
+ * restored; when a transaction is active the notification is delivered after it commits.
+ * Observers are notified in their {@link org.springframework.core.annotation.Order} and
+ * implementations must be thread safe.
+ * </p>
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+public interface PersonChangeObserver {
+
+    /**
+     * Called after a person has been inserted or updated.
+     *
+     * @param person a snapshot of the person's state after the change
+     */
+    void onSaved(PersonDTO person);
+
+    /**
+     * Called after a person has been deleted.
+     *
+     * @param id the ID of the deleted person
+     */
+    void onRemoved(Long id);
+}
@@ -0,0 +1,59 @@
+package com.fmd.app.data;
+
+import com.fmd.app.dto.PersonDTO;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Consumer;
+
+/**
+ * JPA entity listener forwarding {@link Person} changes to all {@link PersonChangeObserver} beans.
+ * <p>
+ * Instantiated by Hibernate through Spring's bean container, so observers are injected.
+ * Notifications are deferred until the surrounding transaction commits, so observers never
+ * see changes that are rolled back.
+ * </p>
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class PersonEntityListener {
+
+    private final ObjectProvider<PersonChangeObserver> observers;
+
+    @PostPersist
+    @PostUpdate
+    void onSaved(Person person) {
+        PersonDTO snapshot = new PersonDTO(person.getId(), person.getFirstName(), person.getLastName(),
+                person.getEmail(), person.getPhone(), person.getAddress());
+        afterCommit(observer -> observer.onSaved(snapshot));
+    }
+
+    @PostRemove
+    void onRemoved(Person person) {
+        Long id = person.getId();
+        afterCommit(observer -> observer.onRemoved(id));
+    }
+
+    private void afterCommit(Consumer<PersonChangeObserver> notification) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    observers.orderedStream().forEach(notification);
+                }
+            });
+        } else {
+            observers.orderedStream().forEach(notification);
+        }
+    }
+}
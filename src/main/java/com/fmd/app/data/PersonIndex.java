@@ -0,0 +1,41 @@
+package com.fmd.app.data;
+
+import com.fmd.app.dto.PersonDTO;
+
+/**
+ * An in-memory index over the active persons.
+ * <p>
+ * The {@link PersonIndexLoader} reads the {@code person} table once at start-up and passes every person to all indexes in the same pass. Afterwards the index is kept up
+ * to date through the {@link PersonChangeObserver} notifications, which may also arrive while
+ * the initial load is running. Notifications before {@link #beforeLoad()} are ignored: those
+ * changes are committed, so the load reads them. An index that is never loaded (see
+ * {@link PersonIndexProperties#enabled()}) therefore stays empty and must not be used to answer
+ * requests.
+ * </p>
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+public interface PersonIndex extends PersonChangeObserver {
+
+    /**
+     * Called before the first person of the initial load.
+     */
+    default void beforeLoad() {
+    }
+
+    /**
+     * Called with each active person during the initial load.
+     *
+     * @param person the person
+     */
+    default void load(PersonDTO person) {
+        onSaved(person);
+    }
+
+    /**
+     * Called after the last person of the initial load.
+     */
+    void afterLoad();
+}
@@ -0,0 +1,126 @@
+package com.fmd.app.data;
+
+import com.fmd.app.dto.PersonDTO;
+import com.fmd.app.dto.mapper.PersonMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Fills all {@link PersonIndex} beans with the active persons at start-up.
+ * <p>
+ * The loader is the first application runner, so the indexes are built before the warm-up
+ * exercises the request paths that use them and before the application reports ready. With
+ * {@code app.person-indexes.enabled=false} nothing is loaded: the indexes stay empty and every
+ * request uses the database.
+ * </p>
+ * <p>
+ * The table is read a single time for all indexes, in id order with keyset paging
+ * ({@link PersonRepository#findBatchAfter}), so the load time grows linearly with the number of
+ * persons and no count query is issued.
+ * </p>
+ * <p>
+ * Changes committed while the load runs reach the indexes directly as
+ * {@link PersonChangeObserver} notifications, and may be newer than the batch the loader has
+ * already read. The loader is notified first (it has the highest precedence), remembers the ids
+ * of those changes and does not load them again, so a stale row never overwrites a newer
+ * notification.
+ * </p>
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class PersonIndexLoader implements ApplicationRunner, PersonChangeObserver {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final PersonRepository repository;
+    private final PersonMapper personMapper;
+    private final List<PersonIndex> indexes;
+    private final PersonIndexProperties properties;
+
+    private final Object lock = new Object();
+    private Set<Long> changedDuringLoad;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        load();
+    }
+
+    /**
+     * Loads all active persons into every index.
+     */
+    public void load() {
+        if (indexes.isEmpty()) {
+            return;
+        }
+        if (!properties.enabled()) {
+            log.info("In-memory person indexes are disabled, all requests use the database");
+            return;
+        }
+        long start = System.nanoTime();
+        // indexes apply notifications from here on; a row read later is at least as new as those
+        indexes.forEach(PersonIndex::beforeLoad);
+        synchronized (lock) {
+            changedDuringLoad = new HashSet<>();
+        }
+        long lastId = 0;
+        long persons = 0;
+        List<Person> batch;
+        try {
+            do {
+                batch = repository.findBatchAfter(lastId, Limit.of(BATCH_SIZE));
+                for (Person person : batch) {
+                    PersonDTO dto = personMapper.toDto(person);
+                    // under the lock, so a newer notification is either seen here or applied over this row
+                    synchronized (lock) {
+                        if (!changedDuringLoad.contains(person.getId())) {
+                            indexes.forEach(index -> index.load(dto));
+                        }
+                    }
+                    lastId = person.getId();
+                }
+                persons += batch.size();
+            } while (batch.size() == BATCH_SIZE);
+        } finally {
+            synchronized (lock) {
+                changedDuringLoad = null;
+            }
+        }
+        indexes.forEach(PersonIndex::afterLoad);
+        log.info("Loaded {} persons into {} in-memory indexes in {} ms", persons, indexes.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public void onSaved(PersonDTO person) {
+        changed(person.id());
+    }
+
+    @Override
+    public void onRemoved(Long id) {
+        changed(id);
+    }
+
+    private void changed(Long id) {
+        synchronized (lock) {
+            if (changedDuringLoad != null) {
+                changedDuringLoad.add(id);
+            }
+        }
+    }
+}
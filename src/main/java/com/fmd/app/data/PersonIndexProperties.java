@@ -0,0 +1,22 @@
+package com.fmd.app.data;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration properties for the in-memory {@link PersonIndex} beans.
+ * <p>
+ * Bound from the {@code app.person-indexes} prefix.
+ * </p>
+ *
+ * @param enabled whether the {@link PersonIndexLoader} fills the indexes at start-up; when
+ *                disabled, the indexes stay empty and grid pages, facets and email checks use
+ *                the database
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@ConfigurationProperties(prefix = "app.person-indexes")
+public record PersonIndexProperties(
+        @DefaultValue("true") boolean enabled
+) {}
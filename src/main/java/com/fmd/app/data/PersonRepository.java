@@ -1,9 +1,15 @@
 package com.fmd.app.data;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Repository interface for Person entity.
  * Extends JpaRepository for basic CRUD operations and JpaSpecificationExecutor for advanced queries.
@@ -15,4 +21,43 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface PersonRepository extends JpaRepository<Person, Long>, JpaSpecificationExecutor<Person> {
 
+    /**
+     * Checks whether an email is in use, using the unique normalised email index.
+     *
+     * @param emailNormalized the email, lower case and trimmed
+     * @return {@code true} if a person has that email
+     */
+    boolean existsByEmailNormalized(String emailNormalized);
+
+    /**
+     * Returns which of the given emails are in use.
+     *
+     * @param emailsNormalized the emails, lower case and trimmed
+     * @return the emails in use, normalised
+     */
+    @Query("select p.emailNormalized from Person p where p.emailNormalized in :emails")
+    List<String> findEmailsNormalizedIn(@Param("emails") Collection<String> emailsNormalized);
+
+    /**
+     * Reads the next batch of normalised emails in email order (keyset paging over the
+     * normalised email index), used to rebuild in-memory email lookups.
+     *
+     * @param after the last email of the previous batch, empty for the first batch
+     * @param limit the batch size
+     * @return the normalised emails greater than {@code after}, in order
+     */
+    @Query("select p.emailNormalized from Person p where p.emailNormalized > :after order by p.emailNormalized")
+    List<String> findEmailsNormalizedAfter(@Param("after") String after, Limit limit);
+
+    /**
+     * Reads the next batch of persons in id order (keyset paging), used to rebuild in-memory
+     * indexes. Unlike offset paging, every batch seeks directly to its first row and no count
+     * query is issued.
+     *
+     * @param afterId the last id of the previous batch, {@code 0} for the first batch
+     * @param limit   the batch size
+     * @return the persons with an id greater than {@code afterId}, in id order
+     */
+    @Query("select p from Person p where p.id > :afterId order by p.id")
+    List<Person> findBatchAfter(@Param("afterId") long afterId, Limit limit);
 }
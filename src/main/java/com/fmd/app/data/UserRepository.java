@@ -3,6 +3,8 @@ package com.fmd.app.data;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 /**
  * Repository interface for managing User entities.
@@ -16,4 +18,22 @@ import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
 
     Optional<User> findByUsername(String username);
+
+    /**
+     * Loads only the display name of a user, without the roles and the profile picture.
+     *
+     * @param username the username
+     * @return the display name, if the user exists
+     */
+    @Query("select u.name from User u where u.username = :username")
+    Optional<String> findNameByUsername(@Param("username") String username);
+
+    /**
+     * Loads only the profile picture of a user.
+     *
+     * @param username the username
+     * @return the picture, if the user exists and has one
+     */
+    @Query("select u.profilePicture from User u where u.username = :username")
+    Optional<byte[]> findProfilePictureByUsername(@Param("username") String username);
 }
@@ -0,0 +1,12 @@
+package com.fmd.app.datasource;
+
+/**
+ * Enum representing the target datasources of the {@link ReadWriteRoutingDataSource}.
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+public enum DataSourceRole {
+    PRIMARY, REPLICA
+}
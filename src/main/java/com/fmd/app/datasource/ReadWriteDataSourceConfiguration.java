@@ -0,0 +1,110 @@
+package com.fmd.app.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Datasource configuration for read/write routing.
+ * <p>
+ * Active when {@code app.datasource.replica.enabled} is set. The primary pool is built from the
+ * standard {@code spring.datasource.*} and {@code spring.datasource.hikari.*} properties and the
+ * replica pool from {@code app.datasource.replica.*} and {@code app.datasource.replica.hikari.*}. Both pools are exposed under their bean names only; the
+ * application-wide {@link DataSource} is the lazily connecting routing datasource.
+ * </p>
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+public class ReadWriteDataSourceConfiguration {
+
+    /**
+     * The connection pool of the primary (read/write) database.
+     *
+     * @param properties the standard datasource properties
+     * @return the primary pool
+     */
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * The connection pool of the read-only replica.
+     *
+     * @param properties       the standard datasource properties, used for the driver
+     * @param replicaProperties the replica properties
+     * @return the replica pool
+     */
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              ReplicaDataSourceProperties replicaProperties) {
+        log.info("Routing read-only transactions to replica {}", replicaProperties.url());
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(replicaProperties.url())
+                .username(replicaProperties.username())
+                .password(replicaProperties.password())
+                .build();
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    /**
+     * The application datasource, routing each transaction to the primary or the replica.
+     *
+     * @param primary               the primary pool
+     * @param replica               the replica pool
+     * @param replicaLagMonitor     the replica health and lag monitor
+     * @param readYourWritesTracker the tracker of recent writes per user
+     * @return the routing datasource
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicaLagMonitor replicaLagMonitor,
+                                 ReadYourWritesTracker readYourWritesTracker) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(replicaLagMonitor, readYourWritesTracker);
+        routing.setTargetDataSources(Map.of(DataSourceRole.PRIMARY, primary, DataSourceRole.REPLICA, replica));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    /**
+     * Registers the {@link FlushedWriteIntegrator}, which tells the routing datasource which
+     * transactions actually wrote.
+     *
+     * @return the customizer adding the integrator
+     */
+    @Bean
+    public HibernatePropertiesCustomizer flushedWriteIntegratorCustomizer() {
+        return properties -> properties.put(JpaSettings.INTEGRATOR_PROVIDER,
+                (IntegratorProvider) () -> List.of(new FlushedWriteIntegrator()));
+    }
+}
@@ -0,0 +1,88 @@
+package com.fmd.app.datasource;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Routes connections to the primary or the replica depending on the current transaction.
+ * <p>
+ * Read-only transactions go to the replica unless the replica is lagging or unavailable, or
+ * the current user committed a write within the read-your-writes window. Everything else,
+ * including work outside a transaction, goes to the primary. A read/write transaction marks its
+ * user in the {@link ReadYourWritesTracker} only if it commits after Hibernate flushed an insert,
+ * update or delete (reported by the {@link FlushedWriteIntegrator}); transactions that merely
+ * were not declared read-only do not pin the user to the primary.
+ * </p>
+ * <p>
+ * The routing decision relies on the transaction attributes, so this datasource must be
+ * wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy};
+ * otherwise the connection is fetched before the read-only flag is set.
+ * </p>
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Object FLUSHED_WRITE_KEY = new Object();
+
+    private final ReplicaLagMonitor replicaLagMonitor;
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return DataSourceRole.PRIMARY;
+        }
+        Optional<String> user = ReadYourWritesTracker.currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            trackWrite(user);
+            return DataSourceRole.PRIMARY;
+        }
+        if (readYourWritesTracker.requiresPrimary(user) || !replicaLagMonitor.isReplicaUsable()) {
+            return DataSourceRole.PRIMARY;
+        }
+        return DataSourceRole.REPLICA;
+    }
+
+    /**
+     * Records that the current transaction flushed a write. Does nothing outside a read/write
+     * transaction of an authenticated user.
+     */
+    static void recordFlushedWrite() {
+        if (TransactionSynchronizationManager.getResource(FLUSHED_WRITE_KEY) instanceof AtomicBoolean flushed) {
+            flushed.set(true);
+        }
+    }
+
+    private void trackWrite(Optional<String> user) {
+        if (user.isEmpty() || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(FLUSHED_WRITE_KEY)) {
+            return;
+        }
+        AtomicBoolean flushed = new AtomicBoolean();
+        TransactionSynchronizationManager.bindResource(FLUSHED_WRITE_KEY, flushed);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                if (flushed.get()) {
+                    readYourWritesTracker.markWrite(user);
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(FLUSHED_WRITE_KEY);
+            }
+        });
+    }
+}
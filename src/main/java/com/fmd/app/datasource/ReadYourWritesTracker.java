@@ -0,0 +1,78 @@
+package com.fmd.app.datasource;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which users recently committed a write, so that their reads can be kept on the
+ * primary until the replica has had time to catch up (read-your-writes consistency).
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+public class ReadYourWritesTracker {
+
+    private final ReplicaDataSourceProperties properties;
+
+    private final Map<String, Long> lastWriteNanos = new ConcurrentHashMap<>();
+
+    /**
+     * Records that the given user has just committed a write.
+     *
+     * @param username the user that wrote, ignored if empty
+     */
+    public void markWrite(Optional<String> username) {
+        username.ifPresent(user -> {
+            log.debug("Pinning reads of {} to the primary after a write", user);
+            lastWriteNanos.put(user, System.nanoTime());
+        });
+    }
+
+    /**
+     * Checks whether the reads of the given user must still go to the primary.
+     *
+     * @param username the reading user, may be empty for anonymous requests
+     * @return {@code true} if the user wrote within the read-your-writes window
+     */
+    public boolean requiresPrimary(Optional<String> username) {
+        return username.map(user -> {
+            Long written = lastWriteNanos.get(user);
+            if (written == null) {
+                return false;
+            }
+            if (System.nanoTime() - written > properties.readYourWritesWindow().toNanos()) {
+                lastWriteNanos.remove(user, written);
+                return false;
+            }
+            return true;
+        }).orElse(false);
+    }
+
+    /**
+     * Resolves the name of the user bound to the current thread.
+     *
+     * @return the username, or empty for anonymous or unauthenticated requests
+     */
+    public static Optional<String> currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(authentication.getName());
+    }
+}
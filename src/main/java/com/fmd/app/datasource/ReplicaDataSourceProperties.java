@@ -0,0 +1,40 @@
+package com.fmd.app.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for read/write datasource routing.
+ * <p>
+ * Bound from the {@code app.datasource.replica} prefix. The primary datasource keeps using
+ * the standard {@code spring.datasource.*} properties.
+ * </p>
+ *
+ * @param enabled               whether read-only transactions are routed to the replica
+ * @param url                   the JDBC URL of the replica
+ * @param username              the replica user
+ * @param password              the replica password
+ * @param maxLag                the replication lag above which reads fall back to the primary
+ * @param lagCheckInterval      how often the replica lag is measured
+ * @param readYourWritesWindow  how long a user's reads stay on the primary after their own write
+ * @param syncFromPrimary       whether the application copies the primary into the replica itself
+ *                              (a development stand-in for replication with a second H2 instance)
+ * @param syncInterval          how often the primary is copied when {@code syncFromPrimary} is set
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@ConfigurationProperties(prefix = "app.datasource.replica")
+public record ReplicaDataSourceProperties(
+        @DefaultValue("false") boolean enabled,
+        String url,
+        String username,
+        String password,
+        @DefaultValue("5s") Duration maxLag,
+        @DefaultValue("1s") Duration lagCheckInterval,
+        @DefaultValue("10s") Duration readYourWritesWindow,
+        @DefaultValue("false") boolean syncFromPrimary,
+        @DefaultValue("2s") Duration syncInterval
+) {}
@@ -0,0 +1,121 @@
+package com.fmd.app.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Measures the replication lag of the replica with a heartbeat row.
+ * <p>
+ * The primary's heartbeat row is updated with the current time on every check, and the lag is
+ * the age of the heartbeat value visible on the replica. Reads fall back to the primary while
+ * the replica is unreachable, lags more than {@link ReplicaDataSourceProperties#maxLag()}, or
+ * is paused (e.g. while it is being re-synchronised).
+ * </p>
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+public class ReplicaLagMonitor {
+
+    private static final String CREATE_HEARTBEAT =
+            "create table if not exists replica_heartbeat (id int primary key, written_at bigint not null)";
+    private static final String WRITE_HEARTBEAT =
+            "merge into replica_heartbeat (id, written_at) key (id) values (1, ?)";
+    private static final String READ_HEARTBEAT =
+            "select written_at from replica_heartbeat where id = 1";
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final ReplicaDataSourceProperties properties;
+
+    private volatile Duration lag;
+    private volatile boolean paused;
+
+    /**
+     * Creates the monitor for the given primary and replica datasources.
+     *
+     * @param primaryDataSource the primary datasource
+     * @param replicaDataSource the replica datasource
+     * @param properties        the replica configuration
+     */
+    public ReplicaLagMonitor(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                             @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                             ReplicaDataSourceProperties properties) {
+        this.primary = new JdbcTemplate(primaryDataSource);
+        this.replica = new JdbcTemplate(replicaDataSource);
+        this.properties = properties;
+    }
+
+    /**
+     * Writes a heartbeat on the primary and measures how old the heartbeat on the replica is.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval:1s}")
+    public void check() {
+        try {
+            primary.execute(CREATE_HEARTBEAT);
+            primary.update(WRITE_HEARTBEAT, System.currentTimeMillis());
+        } catch (DataAccessException e) {
+            log.warn("Failed to write replica heartbeat on the primary", e);
+        }
+        if (paused) {
+            return;
+        }
+        try {
+            Long written = replica.queryForObject(READ_HEARTBEAT, Long.class);
+            lag = written == null ? null : Duration.ofMillis(Math.max(0, System.currentTimeMillis() - written));
+        } catch (DataAccessException e) {
+            log.debug("Replica heartbeat not readable, routing reads to the primary", e);
+            lag = null;
+        }
+        if (lag != null && lag.compareTo(properties.maxLag()) > 0) {
+            log.warn("Replica lag {} ms exceeds {} ms, routing reads to the primary",
+                    lag.toMillis(), properties.maxLag().toMillis());
+        }
+    }
+
+    /**
+     * Checks whether read-only transactions may currently use the replica.
+     *
+     * @return {@code true} if the replica is reachable, not paused and within the lag limit
+     */
+    public boolean isReplicaUsable() {
+        Duration current = lag;
+        return !paused && current != null && current.compareTo(properties.maxLag()) <= 0;
+    }
+
+    /**
+     * Returns the last measured replication lag.
+     *
+     * @return the lag, or {@code null} if the replica could not be read
+     */
+    public Duration getLag() {
+        return lag;
+    }
+
+    /**
+     * Stops routing reads to the replica until {@link #resume()} is called.
+     */
+    public void pause() {
+        paused = true;
+    }
+
+    /**
+     * Allows reads to be routed to the replica again once its lag has been measured.
+     */
+    public void resume() {
+        lag = null;
+        paused = false;
+    }
+}
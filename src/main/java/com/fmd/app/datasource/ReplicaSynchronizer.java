@@ -0,0 +1,125 @@
+package com.fmd.app.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Keeps a local H2 replica in sync by periodically copying the primary into it.
+ * <p>
+ * <b>Development stand-in only.</b> It replaces real replication when trying the routing with a
+ * second H2 instance and must not be used in production: every run drops all objects of the
+ * replica and replays a full copy, which costs time proportional to the database size.
+ * </p>
+ * <p>
+ * The primary is exported with H2's {@code SCRIPT} command and replayed on the replica with
+ * {@code RUNSCRIPT}. The {@link ReplicaLagMonitor} is paused first, so new reads go to the
+ * primary, and the replica is only dropped once the reads already running on it have returned
+ * their connections; if they do not finish within {@link #DRAIN_TIMEOUT}, the run is skipped.
+ * </p>
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = {"enabled", "sync-from-primary"}, havingValue = "true")
+public class ReplicaSynchronizer {
+
+    static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(5);
+    private static final long DRAIN_POLL_MILLIS = 10;
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final DataSource replicaDataSource;
+    private final ReplicaLagMonitor replicaLagMonitor;
+
+    /**
+     * Creates the synchronizer for the given primary and replica datasources.
+     *
+     * @param primaryDataSource the primary datasource
+     * @param replicaDataSource the replica datasource
+     * @param replicaLagMonitor the monitor to pause while the replica is rebuilt
+     */
+    public ReplicaSynchronizer(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                               @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                               ReplicaLagMonitor replicaLagMonitor) {
+        this.primary = new JdbcTemplate(primaryDataSource);
+        this.replica = new JdbcTemplate(replicaDataSource);
+        this.replicaDataSource = replicaDataSource;
+        this.replicaLagMonitor = replicaLagMonitor;
+    }
+
+    /**
+     * Copies the current content of the primary into the replica.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replica.sync-interval:2s}")
+    public void sync() {
+        Path script = createTempFile();
+        String location = script.toAbsolutePath().toString().replace('\\', '/');
+        try {
+            primary.execute("script to '" + location + "'");
+            replicaLagMonitor.pause();
+            if (!awaitReplicaReadsDrained()) {
+                log.warn("Reads on the replica did not finish within {}, skipping this synchronisation", DRAIN_TIMEOUT);
+                return;
+            }
+            replica.execute("drop all objects");
+            replica.execute("runscript from '" + location + "'");
+            log.debug("Replica synchronised from primary");
+        } catch (DataAccessException e) {
+            log.warn("Failed to synchronise replica from primary", e);
+        } finally {
+            replicaLagMonitor.resume();
+            try {
+                Files.deleteIfExists(script);
+            } catch (IOException e) {
+                log.debug("Could not delete replica script {}", script, e);
+            }
+        }
+    }
+
+    /**
+     * Waits until no connection of the replica pool is in use, i.e. no read routed there
+     * before the monitor was paused is still running.
+     */
+    private boolean awaitReplicaReadsDrained() {
+        if (!(replicaDataSource instanceof HikariDataSource hikari) || hikari.getHikariPoolMXBean() == null) {
+            return true;
+        }
+        long deadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (hikari.getHikariPoolMXBean().getActiveConnections() > 0) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            try {
+                Thread.sleep(DRAIN_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Path createTempFile() {
+        try {
+            return Files.createTempFile("fmd-replica-", ".sql");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
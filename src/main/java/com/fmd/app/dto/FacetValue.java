@@ -0,0 +1,12 @@
+package com.fmd.app.dto;
+
+/**
+ * Represents one value of a facet and the number of matching records.
+ *
+ * @param value the facet value
+ * @param count the number of records having the value
+ */
+public record FacetValue(
+    String value,
+    long count
+) {}
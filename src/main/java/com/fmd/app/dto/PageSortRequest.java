@@ -46,7 +46,7 @@ public record PageSortRequest(
      * @param sortBy   the field to sort by, defaults to "id" if null
      */
     public PageSortRequest(Integer offset, Integer pageSize, List<SortRequest> sortBy) {
-        log.debug("Creating PageSortRequest with offset: {}, pageSize: {}, sortBy: {}", offset, pageSize, sortBy);
+        log.trace("Creating PageSortRequest with offset: {}, pageSize: {}, sortBy: {}", offset, pageSize, sortBy);
         this.offset = Objects.requireNonNullElse(offset, 0);
         this.pageSize = Objects.requireNonNullElse(pageSize, 10);
         if (sortBy == null || sortBy.isEmpty()) {
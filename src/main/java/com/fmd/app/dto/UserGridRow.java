@@ -0,0 +1,21 @@
+package com.fmd.app.dto;
+
+/**
+ * A row of the user administration grid.
+ * <p>
+ * Selected directly by the grid query, so the password hash and the profile picture of a user
+ * are never loaded.
+ * </p>
+ *
+ * @param id       the user id
+ * @param username the login name
+ * @param name     the display name
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+public record UserGridRow(
+        Long id,
+        String username,
+        String name
+) {}
@@ -1,6 +1,8 @@
 package com.fmd.app.dto.mapper;
 
 import com.fmd.app.data.Person;
+import com.fmd.app.data.PersonAnyTier;
+import com.fmd.app.data.PersonArchive;
 import com.fmd.app.dto.PersonDTO;
 import org.mapstruct.Mapper;
 import static org.mapstruct.MappingConstants.ComponentModel.SPRING;
@@ -8,4 +10,8 @@ import static org.mapstruct.MappingConstants.ComponentModel.SPRING;
 @Mapper(componentModel = SPRING)
 public interface PersonMapper {
     PersonDTO toDto(Person person);
+
+    PersonDTO toDto(PersonArchive person);
+
+    PersonDTO toDto(PersonAnyTier person);
 }
@@ -0,0 +1,133 @@
+package com.fmd.app.email;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bloom filter over normalised email addresses.
+ * <p>
+ * Sized for an expected number of entries and false positive rate; each entry sets {@code k}
+ * bits derived from a 64-bit hash by double hashing. Bits are set with atomic updates, so
+ * concurrent {@link #put} and {@link #mightContain} calls need no lock. Entries cannot be
+ * removed; a removed email only turns into a false positive that the database check resolves.
+ * </p>
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+class EmailBloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final long capacity;
+    private final LongAdder entries = new LongAdder();
+
+    /**
+     * Creates an empty filter.
+     *
+     * @param capacity          the number of entries the false positive rate is guaranteed for
+     * @param falsePositiveRate the target false positive rate at capacity
+     */
+    EmailBloomFilter(long capacity, double falsePositiveRate) {
+        this.capacity = Math.max(1, capacity);
+        long bits = (long) Math.ceil(-this.capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE, Math.max(1, (bits + 63) / 64));
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / this.capacity * Math.log(2)));
+    }
+
+    /**
+     * Adds an email. It only counts as an entry if it set at least one new bit, so adding an
+     * email again, e.g. on every update of its person, does not fill the filter up.
+     *
+     * @param email the normalised email
+     */
+    void put(String email) {
+        long hash = hash(email);
+        boolean added = false;
+        for (int i = 1; i <= hashCount; i++) {
+            added |= setBit(index(hash, i));
+        }
+        if (added) {
+            entries.increment();
+        }
+    }
+
+    /**
+     * Checks whether an email may have been added.
+     *
+     * @param email the normalised email
+     * @return {@code false} if the email was definitely not added
+     */
+    boolean mightContain(String email) {
+        long hash = hash(email);
+        for (int i = 1; i <= hashCount; i++) {
+            long index = index(hash, i);
+            if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether more entries were added than the filter was sized for.
+     *
+     * @return {@code true} if the false positive rate exceeds its target
+     */
+    boolean isSaturated() {
+        return entries.sum() > capacity;
+    }
+
+    /** The number of distinct emails added, approximately: a new email whose bits were all set already is not counted. */
+    long entries() {
+        return entries.sum();
+    }
+
+    long capacity() {
+        return capacity;
+    }
+
+    long sizeInBytes() {
+        return bitCount / 8;
+    }
+
+    /** The i-th bit of an entry, derived from the two halves of its hash (Kirsch-Mitzenmacher). */
+    private long index(long hash, int i) {
+        long combined = (hash & 0xffffffffL) + i * (hash >>> 32);
+        return Math.floorMod(combined, bitCount);
+    }
+
+    /** Sets a bit, returning {@code false} if it was already set. */
+    private boolean setBit(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        long current;
+        do {
+            current = words.get(word);
+            if ((current & mask) != 0) {
+                return false;
+            }
+        } while (!words.compareAndSet(word, current, current | mask));
+        return true;
+    }
+
+    /** 64-bit FNV-1a over the UTF-8 bytes, finished with the MurmurHash3 mixer. */
+    private static long hash(String email) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : email.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb93fe53ae7e3L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,273 @@
+package com.fmd.app.email;
+
+import com.fmd.app.data.PersonArchiveRepository;
+import com.fmd.app.data.PersonChangeObserver;
+import com.fmd.app.data.PersonIndex;
+import com.fmd.app.data.PersonIndexLoader;
+import com.fmd.app.data.PersonRepository;
+import com.fmd.app.dto.PersonDTO;
+import com.fmd.app.query.QueryRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * Answers "is this email already in use?" mostly without a database round trip.
+ * <p>
+ * Emails are compared in their normalised form: lower case, without surrounding spaces. The
+ * database enforces uniqueness with a unique index on {@code person.email_normalized}; this
+ * registry keeps a Bloom filter of all normalised emails of active and archived persons in
+ * front of it. A miss in the filter proves the email is new, a hit is confirmed against the
+ * normalised email indexes of both tiers. The filter is built in the same pass as the other
+ * in-memory person indexes ({@link PersonIndexLoader}), kept up to date through
+ * {@link PersonChangeObserver} notifications and rebuilt with twice the capacity once it holds
+ * more emails than it was sized for. Until it is built, and when the person indexes are disabled
+ * ({@code app.person-indexes.enabled}), every check goes to the database.
+ * </p>
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Component
+public class EmailRegistry implements PersonIndex {
+
+    private static final int REBUILD_BATCH_SIZE = 5000;
+    private static final int QUERY_CHUNK_SIZE = 500;
+
+    private final PersonRepository personRepository;
+    private final PersonArchiveRepository archiveRepository;
+    private final EmailUniquenessProperties properties;
+    private final Counter filterMisses;
+    private final Counter confirmedTaken;
+    private final Counter falsePositives;
+
+    private volatile EmailBloomFilter filter;
+    private volatile EmailBloomFilter building;
+
+    /**
+     * Creates the registry.
+     *
+     * @param personRepository  the repository of active persons
+     * @param archiveRepository the repository of archived persons
+     * @param properties        the filter configuration
+     * @param meterRegistry     the registry the check outcomes are counted in
+     */
+    public EmailRegistry(PersonRepository personRepository,
+                         PersonArchiveRepository archiveRepository,
+                         EmailUniquenessProperties properties,
+                         MeterRegistry meterRegistry) {
+        this.personRepository = personRepository;
+        this.archiveRepository = archiveRepository;
+        this.properties = properties;
+        this.filterMisses = outcome(meterRegistry, "filter_miss");
+        this.confirmedTaken = outcome(meterRegistry, "taken");
+        this.falsePositives = outcome(meterRegistry, "false_positive");
+    }
+
+    /**
+     * Normalises an email the same way the database derives {@code email_normalized}:
+     * {@code lower(trim(email))}.
+     *
+     * @param email the email, may be {@code null}
+     * @return the normalised email, or {@code null}
+     */
+    public static String normalize(String email) {
+        if (email == null) {
+            return null;
+        }
+        int start = 0;
+        int end = email.length();
+        // SQL TRIM removes spaces only
+        while (start < end && email.charAt(start) == ' ') {
+            start++;
+        }
+        while (end > start && email.charAt(end - 1) == ' ') {
+            end--;
+        }
+        return email.substring(start, end).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Starts the initial build; the active persons are added through {@link #load}.
+     */
+    @Override
+    public synchronized void beforeLoad() {
+        building = newFilter();
+    }
+
+    /**
+     * Adds the archived emails and publishes the filter built by the initial load.
+     */
+    @Override
+    public synchronized void afterLoad() {
+        EmailBloomFilter next = building;
+        try {
+            loadEmails(next, archiveRepository::findEmailsNormalizedAfter);
+            filter = next;
+        } finally {
+            building = null;
+        }
+        log.info("Email filter built with {} emails ({} KB, capacity {})", next.entries(),
+                next.sizeInBytes() / 1024, next.capacity());
+    }
+
+    /**
+     * Rebuilds the filter with more capacity once it holds more emails than it was sized for.
+     */
+    @Scheduled(fixedDelayString = "${app.email-uniqueness.resize-check-interval:1m}")
+    public void resizeIfSaturated() {
+        EmailBloomFilter current = filter;
+        if (current != null && current.isSaturated()) {
+            log.info("Email filter holds {} emails, sized for {}; rebuilding", current.entries(), current.capacity());
+            rebuild();
+        }
+    }
+
+    /**
+     * Rebuilds the filter from the database. Emails saved while the rebuild runs are added to
+     * both the current and the new filter, so none are lost when the new filter replaces it.
+     */
+    public synchronized void rebuild() {
+        if (building != null) {
+            log.debug("Email filter is already being built");
+            return;
+        }
+        long start = System.nanoTime();
+        EmailBloomFilter next = newFilter();
+        building = next;
+        try {
+            loadEmails(next, personRepository::findEmailsNormalizedAfter);
+            loadEmails(next, archiveRepository::findEmailsNormalizedAfter);
+            filter = next;
+        } finally {
+            building = null;
+        }
+        log.info("Email filter built with {} emails ({} KB, capacity {}) in {} ms", next.entries(),
+                next.sizeInBytes() / 1024, next.capacity(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public void onSaved(PersonDTO person) {
+        String email = normalize(person.email());
+        if (email == null) {
+            return;
+        }
+        EmailBloomFilter current = filter;
+        if (current != null) {
+            current.put(email);
+        }
+        EmailBloomFilter next = building;
+        if (next != null) {
+            next.put(email);
+        }
+    }
+
+    @Override
+    public void onRemoved(Long id) {
+        // Bloom filters cannot forget; the stale entry becomes a false positive until the next rebuild
+    }
+
+    /**
+     * Checks whether an email is not used by any active or archived person.
+     *
+     * @param email the email to check
+     * @return {@code true} if the email is available
+     */
+    @Transactional(readOnly = true)
+    public boolean isAvailable(String email) {
+        String normalized = normalize(email);
+        if (normalized == null || normalized.isEmpty()) {
+            return false;
+        }
+        EmailBloomFilter current = filter;
+        if (current != null && !current.mightContain(normalized)) {
+            filterMisses.increment();
+            return true;
+        }
+        boolean taken = personRepository.existsByEmailNormalized(normalized)
+                || archiveRepository.existsByEmailNormalized(normalized);
+        (taken ? confirmedTaken : falsePositives).increment();
+        return !taken;
+    }
+
+    /**
+     * Returns the emails of a batch that are already used by an active or archived person.
+     * Only the emails the filter cannot rule out are looked up, in chunks.
+     *
+     * @param emails the emails to check
+     * @return the normalised emails that are in use
+     * @throws QueryRejectedException if the batch is larger than the configured maximum
+     */
+    @Transactional(readOnly = true)
+    public Set<String> findTaken(Collection<String> emails) {
+        if (emails.size() > properties.maxBatchSize()) {
+            throw new QueryRejectedException("Too many emails: " + emails.size()
+                    + " (maximum " + properties.maxBatchSize() + ")");
+        }
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String email : emails) {
+            String value = normalize(email);
+            if (value != null && !value.isEmpty()) {
+                normalized.add(value);
+            }
+        }
+        EmailBloomFilter current = filter;
+        List<String> candidates = new ArrayList<>();
+        for (String email : normalized) {
+            if (current == null || current.mightContain(email)) {
+                candidates.add(email);
+            } else {
+                filterMisses.increment();
+            }
+        }
+        Set<String> taken = new HashSet<>();
+        for (int from = 0; from < candidates.size(); from += QUERY_CHUNK_SIZE) {
+            List<String> chunk = candidates.subList(from, Math.min(candidates.size(), from + QUERY_CHUNK_SIZE));
+            taken.addAll(personRepository.findEmailsNormalizedIn(chunk));
+            taken.addAll(archiveRepository.findEmailsNormalizedIn(chunk));
+        }
+        confirmedTaken.increment(taken.size());
+        falsePositives.increment(candidates.size() - taken.size());
+        return taken;
+    }
+
+    private EmailBloomFilter newFilter() {
+        long persons = personRepository.count() + archiveRepository.count();
+        long capacity = Math.max(properties.expectedEmails(), persons * 2);
+        return new EmailBloomFilter(capacity, properties.falsePositiveRate());
+    }
+
+    private static void loadEmails(EmailBloomFilter target, BiFunction<String, Limit, List<String>> reader) {
+        String after = "";
+        List<String> emails;
+        do {
+            emails = reader.apply(after, Limit.of(REBUILD_BATCH_SIZE));
+            emails.forEach(target::put);
+            if (!emails.isEmpty()) {
+                after = emails.get(emails.size() - 1);
+            }
+        } while (emails.size() == REBUILD_BATCH_SIZE);
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("app.email.checks")
+                .description("Email availability checks by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
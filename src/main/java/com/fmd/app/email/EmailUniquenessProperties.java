@@ -0,0 +1,24 @@
+package com.fmd.app.email;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration properties for the in-memory email lookup of the {@link EmailRegistry}.
+ * <p>
+ * Bound from the {@code app.email-uniqueness} prefix.
+ * </p>
+ *
+ * @param expectedEmails    the minimum number of emails the Bloom filter is sized for
+ * @param falsePositiveRate the share of new emails that still need a database check
+ * @param maxBatchSize      the maximum number of emails checked in one call
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@ConfigurationProperties(prefix = "app.email-uniqueness")
+public record EmailUniquenessProperties(
+        @DefaultValue("100000") long expectedEmails,
+        @DefaultValue("0.01") double falsePositiveRate,
+        @DefaultValue("1000") int maxBatchSize
+) {}
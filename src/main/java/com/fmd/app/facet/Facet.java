@@ -0,0 +1,66 @@
+package com.fmd.app.facet;
+
+import com.fmd.app.dto.PersonDTO;
+
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Enum representing the person facets for which value counts are maintained.
+ * Each facet derives its value from a person snapshot; {@code null} means the person has no
+ * value for the facet and is not counted.
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+public enum Facet {
+    FIRST_NAME("firstName", PersonDTO::firstName),
+    LAST_NAME("lastName", PersonDTO::lastName),
+    EMAIL_DOMAIN("emailDomain", person -> emailDomain(person.email())),
+    CITY("city", person -> city(person.address()));
+
+    private final String column;
+    private final Function<PersonDTO, String> extractor;
+
+    Facet(String column, Function<PersonDTO, String> extractor) {
+        this.column = column;
+        this.extractor = extractor;
+    }
+
+    /**
+     * Returns the name of the column holding the facet values; facets on plain person
+     * attributes share the attribute's column.
+     *
+     * @return the column name
+     */
+    public String column() {
+        return column;
+    }
+
+    /**
+     * Derives the facet value of a person.
+     *
+     * @param person the person snapshot
+     * @return the facet value, or {@code null} if the person has none
+     */
+    public String valueOf(PersonDTO person) {
+        return extractor.apply(person);
+    }
+
+    private static String emailDomain(String email) {
+        if (email == null || email.indexOf('@') < 0) {
+            return null;
+        }
+        return email.substring(email.lastIndexOf('@') + 1).toLowerCase(Locale.ROOT);
+    }
+
+    // Addresses are stored as "street, city[, country]"
+    private static String city(String address) {
+        if (address == null) {
+            return null;
+        }
+        String[] parts = address.split(",");
+        return parts.length < 2 || parts[1].isBlank() ? null : parts[1].trim();
+    }
+}
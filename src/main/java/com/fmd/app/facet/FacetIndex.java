@@ -0,0 +1,237 @@
+package com.fmd.app.facet;
+
+import com.fmd.app.data.PersonChangeObserver;
+import com.fmd.app.data.PersonIndex;
+import com.fmd.app.data.PersonIndexLoader;
+import com.fmd.app.dto.FacetValue;
+import com.fmd.app.dto.FilterRow;
+import com.fmd.app.dto.PersonDTO;
+import com.fmd.app.query.QueryRejectedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * In-memory, incrementally maintained facet index over persons.
+ * <p>
+ * Each filterable person column and each {@link Facet} column is dictionary encoded by a
+ * {@link ValueDictionary}, which also keeps a count per value; a person is stored as one
+ * {@code int} code per column. The index is filled by the {@link PersonIndexLoader} at
+ * start-up and then kept up to date through {@link PersonChangeObserver}
+ * notifications, so facet requests never query the {@code person} table:
+ * </p>
+ * <ul>
+ *     <li>without filters, the top values are read from the maintained counts;</li>
+ *     <li>with filters, each filter is evaluated once per distinct value of its column and the
+ *     encoded rows are then counted in memory.</li>
+ * </ul>
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Component
+public class FacetIndex implements PersonIndex {
+
+    private static final Map<String, Function<PersonDTO, String>> FILTER_COLUMNS = Map.of(
+            "firstName", PersonDTO::firstName,
+            "lastName", PersonDTO::lastName,
+            "email", PersonDTO::email,
+            "phone", PersonDTO::phone,
+            "address", PersonDTO::address);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> columnIndex = new HashMap<>();
+    private final List<Function<PersonDTO, String>> extractors = new ArrayList<>();
+    private final List<ValueDictionary> dictionaries = new ArrayList<>();
+    private final Map<Long, int[]> rows = new HashMap<>();
+    private volatile boolean maintained;
+    private volatile boolean ready;
+
+    {
+        Map<String, Function<PersonDTO, String>> columns = new LinkedHashMap<>(FILTER_COLUMNS);
+        for (Facet facet : Facet.values()) {
+            columns.putIfAbsent(facet.column(), facet::valueOf);
+        }
+        columns.forEach((name, extractor) -> {
+            columnIndex.put(name, extractors.size());
+            extractors.add(extractor);
+            dictionaries.add(new ValueDictionary());
+        });
+    }
+
+    @Override
+    public void beforeLoad() {
+        maintained = true;
+    }
+
+    @Override
+    public void afterLoad() {
+        ready = true;
+        log.info("Facet index built with {} persons", size());
+    }
+
+    @Override
+    public void onSaved(PersonDTO person) {
+        if (!maintained) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int[] previous = rows.get(person.id());
+            int[] codes = new int[extractors.size()];
+            for (int column = 0; column < codes.length; column++) {
+                ValueDictionary dictionary = dictionaries.get(column);
+                codes[column] = dictionary.encode(extractors.get(column).apply(person));
+                // increment first, so an unchanged value never drops to zero and loses its code
+                dictionary.increment(codes[column]);
+                if (previous != null) {
+                    dictionary.decrement(previous[column]);
+                }
+            }
+            rows.put(person.id(), codes);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onRemoved(Long id) {
+        if (!maintained) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int[] previous = rows.remove(id);
+            if (previous != null) {
+                for (int column = 0; column < previous.length; column++) {
+                    dictionaries.get(column).decrement(previous[column]);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the most frequent values of a facet among the persons matching the filters.
+     *
+     * @param facet  the facet
+     * @param filter the applied filter rows
+     * @param limit  the maximum number of values to return
+     * @return the values ordered by descending count, then by value; no values until the index is loaded
+     * @throws QueryRejectedException if a filter uses a column or operator the index cannot evaluate
+     */
+    public List<FacetValue> top(Facet facet, List<FilterRow> filter, int limit) {
+        if (!ready) {
+            return List.of();
+        }
+        List<FilterRow> effective = filter == null ? List.of() : filter.stream()
+                .filter(row -> row.column() != null && row.value() != null && !row.value().isEmpty())
+                .toList();
+        int facetColumn = columnIndex.get(facet.column());
+        lock.readLock().lock();
+        try {
+            ValueDictionary dictionary = dictionaries.get(facetColumn);
+            if (effective.isEmpty()) {
+                return topN(dictionary, dictionary::count, limit);
+            }
+            int[] filterColumns = new int[effective.size()];
+            BitSet[] allowed = new BitSet[effective.size()];
+            for (int i = 0; i < effective.size(); i++) {
+                FilterRow row = effective.get(i);
+                Integer column = FILTER_COLUMNS.containsKey(row.column()) ? columnIndex.get(row.column()) : null;
+                if (column == null) {
+                    throw new QueryRejectedException("Facets cannot be filtered by '" + row.column() + "'");
+                }
+                filterColumns[i] = column;
+                allowed[i] = dictionaries.get(column).matching(predicate(row));
+            }
+            int[] counts = new int[dictionary.size()];
+            for (int[] codes : rows.values()) {
+                if (matches(codes, filterColumns, allowed) && codes[facetColumn] != ValueDictionary.NO_VALUE) {
+                    counts[codes[facetColumn]]++;
+                }
+            }
+            return topN(dictionary, code -> counts[code], limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of indexed persons.
+     *
+     * @return the number of persons
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rows.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static boolean matches(int[] codes, int[] filterColumns, BitSet[] allowed) {
+        for (int i = 0; i < filterColumns.length; i++) {
+            int code = codes[filterColumns[i]];
+            if (code == ValueDictionary.NO_VALUE || !allowed[i].get(code)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Mirrors the operator semantics of FilterSpecificationUtil
+    private static Predicate<String> predicate(FilterRow row) {
+        String value = row.value();
+        String lower = value.toLowerCase(Locale.ROOT);
+        return switch (String.valueOf(row.operator())) {
+            case "contains" -> v -> v.toLowerCase(Locale.ROOT).contains(lower);
+            case "equals" -> v -> v.equals(value);
+            case "startsWith" -> v -> v.toLowerCase(Locale.ROOT).startsWith(lower);
+            case "endsWith" -> v -> v.toLowerCase(Locale.ROOT).endsWith(lower);
+            default -> throw new QueryRejectedException("Unsupported operator: " + row.operator());
+        };
+    }
+
+    private static List<FacetValue> topN(ValueDictionary dictionary, CodeCounter counter, int limit) {
+        Comparator<Integer> byCount = Comparator.<Integer>comparingInt(counter::count)
+                .thenComparing(dictionary::value, Comparator.reverseOrder());
+        PriorityQueue<Integer> top = new PriorityQueue<>(limit + 1, byCount);
+        for (int code = 0; code < dictionary.size(); code++) {
+            if (counter.count(code) > 0) {
+                top.add(code);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        }
+        List<FacetValue> result = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            int code = top.poll();
+            result.add(0, new FacetValue(dictionary.value(code), counter.count(code)));
+        }
+        return result;
+    }
+
+    @FunctionalInterface
+    private interface CodeCounter {
+        int count(int code);
+    }
+}
@@ -0,0 +1,120 @@
+package com.fmd.app.facet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Dictionary encoding of the distinct values of one column together with a count per value.
+ * <p>
+ * Every distinct value gets a dense {@code int} code; counts are kept in a primitive array
+ * indexed by code, so per-row state is reduced to one {@code int} per column. When the count of
+ * a value drops to zero the value is forgotten and its code is handed out again to the next new
+ * value, so the dictionary stays as large as the number of distinct live values even when values
+ * churn. Callers must therefore increment a code before decrementing the code it replaces. Not
+ * thread safe; guarded by {@link FacetIndex}.
+ * </p>
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+class ValueDictionary {
+
+    static final int NO_VALUE = -1;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+    private int[] counts = new int[16];
+    private int[] freeCodes = new int[16];
+    private int freeCount;
+
+    /**
+     * Returns the code of a value, assigning a free or new one if the value is not live.
+     *
+     * @param value the value, may be {@code null}
+     * @return the code, or {@link #NO_VALUE} for {@code null}
+     */
+    int encode(String value) {
+        if (value == null) {
+            return NO_VALUE;
+        }
+        return codes.computeIfAbsent(value, v -> {
+            if (freeCount > 0) {
+                int code = freeCodes[--freeCount];
+                values.set(code, v);
+                return code;
+            }
+            values.add(v);
+            if (values.size() > counts.length) {
+                counts = Arrays.copyOf(counts, counts.length * 2);
+            }
+            return values.size() - 1;
+        });
+    }
+
+    void increment(int code) {
+        if (code != NO_VALUE) {
+            counts[code]++;
+        }
+    }
+
+    void decrement(int code) {
+        if (code != NO_VALUE && --counts[code] == 0) {
+            release(code);
+        }
+    }
+
+    private void release(int code) {
+        codes.remove(values.get(code));
+        values.set(code, null);
+        if (freeCount == freeCodes.length) {
+            freeCodes = Arrays.copyOf(freeCodes, freeCodes.length * 2);
+        }
+        freeCodes[freeCount++] = code;
+    }
+
+    /**
+     * Returns the value of a code.
+     *
+     * @param code the code
+     * @return the value, or {@code null} if the code is currently free
+     */
+    String value(int code) {
+        return values.get(code);
+    }
+
+    int count(int code) {
+        return counts[code];
+    }
+
+    /**
+     * Returns the upper bound (exclusive) of the codes, including free ones.
+     *
+     * @return the number of code slots
+     */
+    int size() {
+        return values.size();
+    }
+
+    /**
+     * Evaluates a predicate once per distinct value.
+     *
+     * @param predicate the predicate on values
+     * @return the codes of all values matching the predicate
+     */
+    BitSet matching(Predicate<String> predicate) {
+        BitSet matches = new BitSet(values.size());
+        for (int code = 0; code < values.size(); code++) {
+            String value = values.get(code);
+            if (value != null && predicate.test(value)) {
+                matches.set(code);
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,118 @@
+package com.fmd.app.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Logback turbo filter that samples hot-path log statements by limiting them per logger and second.
+ * <p>
+ * Applies to loggers whose name starts with one of the configured prefixes and to events below
+ * {@code WARN}; warnings and errors are never dropped. Each logger may emit at most
+ * {@code permitsPerSecond} events per second, the rest are denied before the event (and its
+ * message) is created. Logback consults turbo filters before the logger level, so statements
+ * below the effective level of their logger are passed on untouched to be discarded by the
+ * level check: they neither consume permits nor pay for the per-logger bookkeeping. Level
+ * checks such as {@code isDebugEnabled()} do not consume permits either.
+ * </p>
+ * <pre>{@code
+ * <turboFilter class="com.fmd.app.logging.RateLimitingTurboFilter">
+ *     <loggerPrefix>com.fmd.app.services</loggerPrefix>
+ *     <permitsPerSecond>20</permitsPerSecond>
+ * </turboFilter>
+ * }</pre>
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+public class RateLimitingTurboFilter extends TurboFilter {
+
+    private final List<String> loggerPrefixes = new ArrayList<>();
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+    private int permitsPerSecond = 20;
+    private boolean enabled = true;
+
+    private static final class Window {
+        private final AtomicLong second = new AtomicLong();
+        private final AtomicLong count = new AtomicLong();
+
+        boolean tryAcquire(long now, int permits) {
+            long current = second.get();
+            if (current != now && second.compareAndSet(current, now)) {
+                count.set(0);
+            }
+            return count.incrementAndGet() <= permits;
+        }
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (!enabled || format == null || level == null || level.isGreaterOrEqual(Level.WARN)
+                || !level.isGreaterOrEqual(logger.getEffectiveLevel()) || !matches(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        Window window = windows.computeIfAbsent(logger.getName(), name -> new Window());
+        if (window.tryAcquire(System.currentTimeMillis() / 1000, permitsPerSecond)) {
+            return FilterReply.NEUTRAL;
+        }
+        dropped.increment();
+        return FilterReply.DENY;
+    }
+
+    private boolean matches(String loggerName) {
+        for (String prefix : loggerPrefixes) {
+            if (loggerName.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds a logger name prefix the rate limit applies to; called by Logback for each
+     * {@code <loggerPrefix>} element.
+     *
+     * @param loggerPrefix the logger name prefix
+     */
+    public void addLoggerPrefix(String loggerPrefix) {
+        loggerPrefixes.add(loggerPrefix);
+    }
+
+    /**
+     * Sets the number of events each matching logger may emit per second.
+     *
+     * @param permitsPerSecond the per-logger limit
+     */
+    public void setPermitsPerSecond(int permitsPerSecond) {
+        this.permitsPerSecond = permitsPerSecond;
+    }
+
+    /**
+     * Turns the rate limit on or off, e.g. to measure the throughput without it.
+     *
+     * @param enabled whether events are limited
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns the number of events dropped since startup.
+     *
+     * @return the dropped event count
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,42 @@
+package com.fmd.app.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event covering a complete endpoint call, including request deserialisation and response
+ * serialisation.
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@Name(EndpointCallEvent.NAME)
+@Label("Endpoint Call")
+@Category({"FMD App", "Endpoints"})
+@Description("A complete Hilla endpoint call")
+@StackTrace(false)
+class EndpointCallEvent extends Event {
+
+    static final String NAME = "com.fmd.app.EndpointCall";
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Status")
+    int status;
+
+    @Label("CPU Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long cpuTime;
+
+    @Label("Allocated")
+    @DataAmount
+    long allocated;
+}
@@ -0,0 +1,69 @@
+package com.fmd.app.profiling;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Records every Hilla endpoint call ({@code /connect/{endpoint}/{method}}) as an
+ * {@link EndpointCallEvent}.
+ * <p>
+ * The call event spans request deserialisation, the endpoint method and response serialisation,
+ * so the time and allocations not covered by the endpoint's stage events are attributed to
+ * the framework and Jackson. Without an active recording only {@code isEnabled()} is checked.
+ * </p>
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+@RequiredArgsConstructor
+public class EndpointProfilingFilter extends OncePerRequestFilter {
+
+    private static final String CONNECT_PREFIX = "/connect/";
+
+    private final ProfilingProperties properties;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.enabled() || !request.getRequestURI().startsWith(request.getContextPath() + CONNECT_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        EndpointCallEvent event = new EndpointCallEvent();
+        if (!event.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long cpuTime = ThreadResources.cpuTime();
+        long allocated = ThreadResources.allocatedBytes();
+        event.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.endpoint = endpointName(request);
+                event.status = response.getStatus();
+                event.cpuTime = ThreadResources.cpuTime() - cpuTime;
+                event.allocated = ThreadResources.allocatedBytes() - allocated;
+                event.commit();
+            }
+        }
+    }
+
+    /** Turns {@code /connect/PersonEndpoint/getPersons} into {@code PersonEndpoint.getPersons}. */
+    private static String endpointName(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length() + CONNECT_PREFIX.length());
+        return path.replace('/', '.');
+    }
+}
@@ -0,0 +1,47 @@
+package com.fmd.app.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event covering one stage of an endpoint call, e.g. the query or the DTO mapping.
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@Name(EndpointStageEvent.NAME)
+@Label("Endpoint Stage")
+@Category({"FMD App", "Endpoints"})
+@Description("A stage of a Hilla endpoint call")
+@StackTrace(false)
+class EndpointStageEvent extends Event {
+
+    static final String NAME = "com.fmd.app.EndpointStage";
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Filter Shape")
+    String filterShape;
+
+    @Label("Rows")
+    int rows;
+
+    @Label("CPU Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long cpuTime;
+
+    @Label("Allocated")
+    @DataAmount
+    long allocated;
+}
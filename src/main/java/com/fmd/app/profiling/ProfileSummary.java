@@ -0,0 +1,65 @@
+package com.fmd.app.profiling;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Per-endpoint summary of a profiling recording.
+ *
+ * @param state     the state of the recording, e.g. {@code RUNNING} or {@code STOPPED}
+ * @param startedAt when the recording started
+ * @param endsAt    when the recording stops by itself
+ * @param endpoints the endpoints called during the recording, the most expensive first
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+public record ProfileSummary(
+        String state,
+        Instant startedAt,
+        Instant endsAt,
+        List<EndpointProfile> endpoints
+) {
+
+    /**
+     * Totals of one endpoint method.
+     *
+     * @param endpoint       the endpoint method, e.g. {@code PersonEndpoint.getPersons}
+     * @param calls          the number of calls
+     * @param totalMs        the total wall time of the calls in milliseconds
+     * @param cpuMs          the total CPU time of the calls in milliseconds
+     * @param allocatedBytes the total bytes allocated by the calls
+     * @param stages         the totals per stage, in order of first occurrence; the
+     *                       {@code framework} stage is the part of the calls outside any recorded
+     *                       top-level stage, mostly (de)serialisation
+     */
+    public record EndpointProfile(
+            String endpoint,
+            long calls,
+            double totalMs,
+            double cpuMs,
+            long allocatedBytes,
+            List<StageProfile> stages
+    ) {}
+
+    /**
+     * Totals of one stage of an endpoint method.
+     *
+     * @param stage          the stage name
+     * @param count          the number of times the stage ran
+     * @param totalMs        the total wall time in milliseconds
+     * @param cpuMs          the total CPU time in milliseconds
+     * @param allocatedBytes the total bytes allocated
+     * @param rows           the total number of rows produced
+     * @param filterShapes   the number of distinct filter shapes seen
+     */
+    public record StageProfile(
+            String stage,
+            long count,
+            double totalMs,
+            double cpuMs,
+            long allocatedBytes,
+            long rows,
+            int filterShapes
+    ) {}
+}
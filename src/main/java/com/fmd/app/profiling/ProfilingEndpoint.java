@@ -0,0 +1,63 @@
+package com.fmd.app.profiling;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Actuator endpoint for JFR-based endpoint profiling.
+ * <ul>
+ *     <li>{@code POST /actuator/profiling} starts a bounded recording, optionally with
+ *     {@code {"duration": "PT2M"}}</li>
+ *     <li>{@code GET /actuator/profiling} returns the per-endpoint summary so far</li>
+ *     <li>{@code DELETE /actuator/profiling} stops the recording and returns the final summary</li>
+ * </ul>
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+@Endpoint(id = "profiling")
+@RequiredArgsConstructor
+public class ProfilingEndpoint {
+
+    private final ProfilingRecorder recorder;
+
+    /**
+     * Returns the summary of the active or last recording.
+     *
+     * @return the summary, or {@code null} if nothing has been recorded
+     */
+    @ReadOperation
+    public ProfileSummary summary() {
+        return recorder.summary();
+    }
+
+    /**
+     * Starts a recording.
+     *
+     * @param duration the recording duration, capped at {@code app.profiling.max-duration}
+     * @return the summary of the running recording
+     */
+    @WriteOperation
+    public ProfileSummary start(@Nullable Duration duration) {
+        return recorder.start(duration);
+    }
+
+    /**
+     * Stops the recording.
+     *
+     * @return the final summary
+     */
+    @DeleteOperation
+    public ProfileSummary stop() {
+        return recorder.stop();
+    }
+}
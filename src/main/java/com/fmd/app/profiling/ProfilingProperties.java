@@ -0,0 +1,29 @@
+package com.fmd.app.profiling;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for endpoint profiling with JFR.
+ * <p>
+ * Bound from the {@code app.profiling} prefix.
+ * </p>
+ *
+ * @param enabled         whether endpoint calls and stages emit JFR events while a recording is active
+ * @param defaultDuration how long a recording runs when no duration is requested
+ * @param maxDuration     the longest recording that can be requested
+ * @param maxSize         the maximum size of a recording on disk
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@ConfigurationProperties(prefix = "app.profiling")
+public record ProfilingProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("60s") Duration defaultDuration,
+        @DefaultValue("10m") Duration maxDuration,
+        @DefaultValue("50MB") DataSize maxSize
+) {}
@@ -0,0 +1,248 @@
+package com.fmd.app.profiling;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Runs bounded JFR recordings of the endpoint events and summarises them per endpoint.
+ * <p>
+ * A recording only enables {@link EndpointCallEvent} and {@link EndpointStageEvent}, stops by
+ * itself after its duration and is limited in size, so it can be started in production without
+ * an external agent. At most one recording runs at a time. The summary is computed from a copy
+ * while the recording runs, and once more when it is stopped.
+ * </p>
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProfilingRecorder {
+
+    private static final String RECORDING_NAME = "fmd-endpoint-profile";
+    private static final String FRAMEWORK_STAGE = "framework";
+    // Stages that run inside another recorded stage and must not be subtracted twice
+    private static final Set<String> NESTED_STAGES = Set.of("specification", "count-specification");
+
+    private final ProfilingProperties properties;
+
+    private Recording recording;
+    private ProfileSummary lastSummary;
+
+    /**
+     * Starts a recording, unless one is already running.
+     *
+     * @param duration the requested duration, {@code null} for the default; capped at the maximum
+     * @return the summary of the running recording
+     */
+    public synchronized ProfileSummary start(Duration duration) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return summary();
+        }
+        close();
+        Duration effective = duration == null || duration.isNegative() || duration.isZero()
+                ? properties.defaultDuration() : duration;
+        if (effective.compareTo(properties.maxDuration()) > 0) {
+            effective = properties.maxDuration();
+        }
+        Recording next = new Recording();
+        next.setName(RECORDING_NAME);
+        next.enable(EndpointCallEvent.class).withThreshold(Duration.ZERO).withoutStackTrace();
+        next.enable(EndpointStageEvent.class).withThreshold(Duration.ZERO).withoutStackTrace();
+        next.setDuration(effective);
+        next.setMaxSize(properties.maxSize().toBytes());
+        next.setToDisk(true);
+        next.start();
+        recording = next;
+        log.info("Started endpoint profiling for {}", effective);
+        return summary();
+    }
+
+    /**
+     * Stops the recording and returns its final summary.
+     *
+     * @return the summary, or the last summary if no recording is active
+     */
+    public synchronized ProfileSummary stop() {
+        if (recording == null) {
+            return lastSummary;
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        lastSummary = summarize(recording);
+        close();
+        log.info("Stopped endpoint profiling");
+        return lastSummary;
+    }
+
+    /**
+     * Returns the summary of the active recording so far.
+     *
+     * @return the summary, or the last summary if no recording is active
+     */
+    public synchronized ProfileSummary summary() {
+        if (recording == null) {
+            return lastSummary;
+        }
+        if (recording.getState() != RecordingState.RUNNING) {
+            // stopped by itself after its duration
+            return summarize(recording);
+        }
+        try (Recording copy = recording.copy(true)) {
+            ProfileSummary snapshot = summarize(copy);
+            return new ProfileSummary(recording.getState().name(), snapshot.startedAt(), snapshot.endsAt(), snapshot.endpoints());
+        }
+    }
+
+    @PreDestroy
+    synchronized void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private static ProfileSummary summarize(Recording source) {
+        Instant startedAt = source.getStartTime();
+        Instant endsAt = startedAt == null || source.getDuration() == null ? null : startedAt.plus(source.getDuration());
+        Map<String, EndpointTotals> endpoints = new LinkedHashMap<>();
+        Path file = null;
+        try {
+            file = Files.createTempFile(RECORDING_NAME, ".jfr");
+            source.dump(file);
+            // aggregate while reading, so memory stays bounded by the number of endpoints and stages
+            try (RecordingFile recordingFile = new RecordingFile(file)) {
+                while (recordingFile.hasMoreEvents()) {
+                    add(endpoints, recordingFile.readEvent());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the profiling recording", e);
+        } finally {
+            deleteQuietly(file);
+        }
+        return new ProfileSummary(source.getState().name(), startedAt, endsAt, endpoints.values().stream()
+                .map(EndpointTotals::toProfile)
+                .sorted(Comparator.comparingDouble(ProfileSummary.EndpointProfile::totalMs).reversed())
+                .toList());
+    }
+
+    private static void add(Map<String, EndpointTotals> endpoints, RecordedEvent event) {
+        String type = event.getEventType().getName();
+        if (!EndpointCallEvent.NAME.equals(type) && !EndpointStageEvent.NAME.equals(type)) {
+            return;
+        }
+        EndpointTotals totals = endpoints.computeIfAbsent(event.getString("endpoint"), EndpointTotals::new);
+        if (EndpointCallEvent.NAME.equals(type)) {
+            totals.call.add(event);
+        } else {
+            totals.stages.computeIfAbsent(event.getString("stage"), key -> new Totals()).add(event);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Could not delete {}", file, e);
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class Totals {
+        long count;
+        long wallNanos;
+        long cpuNanos;
+        long allocated;
+        long rows;
+        Instant firstStart;
+        final Set<String> shapes = new HashSet<>();
+
+        void add(RecordedEvent event) {
+            count++;
+            if (firstStart == null || event.getStartTime().isBefore(firstStart)) {
+                firstStart = event.getStartTime();
+            }
+            wallNanos += event.getDuration().toNanos();
+            cpuNanos += event.getLong("cpuTime");
+            allocated += event.getLong("allocated");
+            if (event.hasField("rows")) {
+                rows += Math.max(0, event.getInt("rows"));
+                shapes.add(event.getString("filterShape"));
+            }
+        }
+
+        ProfileSummary.StageProfile toStage(String stage) {
+            return new ProfileSummary.StageProfile(stage, count, millis(wallNanos), millis(cpuNanos), allocated,
+                    rows, shapes.size());
+        }
+    }
+
+    private static final class EndpointTotals {
+        final String endpoint;
+        final Totals call = new Totals();
+        final Map<String, Totals> stages = new LinkedHashMap<>();
+
+        EndpointTotals(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        ProfileSummary.EndpointProfile toProfile() {
+            // events are read in chunk order, not in time order; list the stages in the order they first ran
+            List<ProfileSummary.StageProfile> stageProfiles = new ArrayList<>();
+            stages.entrySet().stream()
+                    .sorted(Map.Entry.comparingByValue(Comparator.comparing((Totals totals) -> totals.firstStart)))
+                    .forEach(entry -> stageProfiles.add(entry.getValue().toStage(entry.getKey())));
+            if (call.count > 0) {
+                // what the calls spent outside the top-level stages: mostly (de)serialisation and security
+                Totals framework = new Totals();
+                framework.count = call.count;
+                framework.wallNanos = call.wallNanos;
+                framework.cpuNanos = call.cpuNanos;
+                framework.allocated = call.allocated;
+                stages.forEach((stage, totals) -> {
+                    if (!NESTED_STAGES.contains(stage)) {
+                        framework.wallNanos -= totals.wallNanos;
+                        framework.cpuNanos -= totals.cpuNanos;
+                        framework.allocated -= totals.allocated;
+                    }
+                });
+                framework.wallNanos = Math.max(0, framework.wallNanos);
+                framework.cpuNanos = Math.max(0, framework.cpuNanos);
+                framework.allocated = Math.max(0, framework.allocated);
+                stageProfiles.add(framework.toStage(FRAMEWORK_STAGE));
+            }
+            return new ProfileSummary.EndpointProfile(endpoint, call.count, millis(call.wallNanos),
+                    millis(call.cpuNanos), call.allocated, stageProfiles);
+        }
+    }
+}
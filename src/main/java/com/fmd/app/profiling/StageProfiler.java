@@ -0,0 +1,88 @@
+package com.fmd.app.profiling;
+
+import jakarta.persistence.criteria.CriteriaQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Wraps the stages of an endpoint call in {@link EndpointStageEvent}s.
+ * <p>
+ * When no JFR recording includes the event, a stage costs one {@code isEnabled()} check. While a
+ * recording is active, the wall time, the thread's CPU time and the bytes it allocated are
+ * recorded per stage together with the endpoint, the filter shape and the number of rows.
+ * Stages may be nested, e.g. the {@code specification} and {@code count-specification} stages run
+ * inside the {@code query} stage.
+ * </p>
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+@RequiredArgsConstructor
+public class StageProfiler {
+
+    private final ProfilingProperties properties;
+
+    /**
+     * Runs a stage and records it.
+     *
+     * @param endpoint    the endpoint, e.g. {@code PersonEndpoint.getPersons}
+     * @param stage       the stage name
+     * @param filterShape supplies the filter shape, only called while recording
+     * @param action      the work of the stage
+     * @param rows        extracts the number of rows from the result
+     * @param <T>         the result type
+     * @return the result of the action
+     */
+    public <T> T stage(String endpoint, String stage, Supplier<?> filterShape, Supplier<T> action, ToIntFunction<? super T> rows) {
+        EndpointStageEvent event = new EndpointStageEvent();
+        if (!properties.enabled() || !event.isEnabled()) {
+            return action.get();
+        }
+        long cpuTime = ThreadResources.cpuTime();
+        long allocated = ThreadResources.allocatedBytes();
+        event.begin();
+        T result = null;
+        try {
+            result = action.get();
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.endpoint = endpoint;
+                event.stage = stage;
+                event.filterShape = String.valueOf(filterShape.get());
+                event.rows = result == null ? -1 : rows.applyAsInt(result);
+                event.cpuTime = ThreadResources.cpuTime() - cpuTime;
+                event.allocated = ThreadResources.allocatedBytes() - allocated;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Wraps a specification so that building its predicate is recorded as the
+     * {@code specification} stage. Spring Data builds the predicate a second time for the count
+     * query of a page; that call is recorded as the {@code count-specification} stage, so each
+     * stage counts one predicate per request.
+     *
+     * @param endpoint    the endpoint
+     * @param filterShape supplies the filter shape, only called while recording
+     * @param spec        the specification
+     * @param <E>         the entity type
+     * @return the recorded specification
+     */
+    public <E> Specification<E> specification(String endpoint, Supplier<?> filterShape, Specification<E> spec) {
+        return (root, query, cb) -> stage(endpoint, isCountQuery(query) ? "count-specification" : "specification",
+                filterShape, () -> spec.toPredicate(root, query, cb), predicate -> 0);
+    }
+
+    private static boolean isCountQuery(CriteriaQuery<?> query) {
+        return query != null && Long.class.equals(query.getResultType());
+    }
+}
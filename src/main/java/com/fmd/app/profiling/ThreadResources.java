@@ -0,0 +1,33 @@
+package com.fmd.app.profiling;
+
+import lombok.experimental.UtilityClass;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Reads the CPU time and allocated bytes of the current thread.
+ * <p>
+ * Both are cheap counters maintained by the JVM. They return {@code 0} where the JVM does not
+ * support them, e.g. CPU time of virtual threads.
+ * </p>
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@UtilityClass
+class ThreadResources {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final boolean CPU_TIME = THREADS.isCurrentThreadCpuTimeSupported() && THREADS.isThreadCpuTimeEnabled();
+    private static final boolean ALLOCATION = THREADS.isThreadAllocatedMemorySupported() && THREADS.isThreadAllocatedMemoryEnabled();
+
+    static long cpuTime() {
+        return CPU_TIME ? Math.max(0, THREADS.getCurrentThreadCpuTime()) : 0;
+    }
+
+    static long allocatedBytes() {
+        return ALLOCATION ? Math.max(0, THREADS.getCurrentThreadAllocatedBytes()) : 0;
+    }
+}
@@ -0,0 +1,33 @@
+package com.fmd.app.query;
+
+import com.fmd.app.dto.FilterRow;
+import com.fmd.app.dto.PageSortRequest;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * A grid request after it has been admitted by the {@link QueryGovernor}.
+ * <p>
+ * Contains the possibly capped request that should be executed, the effective filters,
+ * the deadline of its statements and the cost estimate the decision was based on.
+ * </p>
+ *
+ * @param entityClass     the queried entity
+ * @param pageSortRequest the request to execute, with the page size capped if necessary
+ * @param filter          the effective filter rows (blank rows removed)
+ * @param timeout         the deadline for all statements of the request
+ * @param cost            the estimated cost of the request
+ * @param capped          whether the page size was reduced to fit the budgets
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+public record GovernedQuery(
+        Class<?> entityClass,
+        PageSortRequest pageSortRequest,
+        List<FilterRow> filter,
+        Duration timeout,
+        QueryCost cost,
+        boolean capped
+) {}
@@ -0,0 +1,42 @@
+package com.fmd.app.query;
+
+import java.util.List;
+
+/**
+ * Describes a grid served by the {@link GridQueryEngine}.
+ * <p>
+ * The columns are the only entity attributes the grid selects, filters and sorts by, so
+ * attributes that are sensitive or expensive to load (passwords, {@code @Lob} columns) are never
+ * part of a grid query unless they are listed. The row type needs a constructor taking the
+ * column values in the listed order, e.g. a record with matching components.
+ * </p>
+ *
+ * @param entityClass the queried entity
+ * @param rowType     the projection every row is constructed as
+ * @param columns     the selected, filterable and sortable attributes, in constructor order
+ * @param <E>         the entity type
+ * @param <R>         the row type
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+public record GridDefinition<E, R>(
+        Class<E> entityClass,
+        Class<R> rowType,
+        List<String> columns
+) {
+
+    /**
+     * Creates a grid definition.
+     *
+     * @param entityClass the queried entity
+     * @param rowType     the projection every row is constructed as
+     * @param columns     the selected, filterable and sortable attributes, in constructor order
+     * @param <E>         the entity type
+     * @param <R>         the row type
+     * @return the definition
+     */
+    public static <E, R> GridDefinition<E, R> of(Class<E> entityClass, Class<R> rowType, String... columns) {
+        return new GridDefinition<>(entityClass, rowType, List.of(columns));
+    }
+}
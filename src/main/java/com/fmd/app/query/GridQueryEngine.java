@@ -0,0 +1,151 @@
+package com.fmd.app.query;
+
+import com.fmd.app.dto.FilterRow;
+import com.fmd.app.dto.PageResponse;
+import com.fmd.app.dto.PageSortRequest;
+import com.fmd.app.dto.mapper.PageMapper;
+import com.fmd.app.utils.FilterSpecificationUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs paged, filtered and sorted grid requests for any entity as projection queries.
+ * <p>
+ * A request is first checked against the columns of its {@link GridDefinition}, then admitted
+ * by the {@link QueryGovernor}, and finally executed as a criteria query that selects only the
+ * grid columns into the row type with {@code construct}, so entities are never loaded and
+ * unlisted columns are never read. Filters are built by {@link FilterSpecificationUtil}, the same
+ * as for the person grid. Rows are ordered by the requested columns and then by id in the
+ * direction of the last sort, like the person grid, so pages never skip or repeat tied rows. The
+ * total is only counted when the page does not reveal it.
+ * </p>
+ * <p>
+ * Filter values are bound as parameters ({@code hibernate.criteria.value_handling_mode=bind}),
+ * so all requests of one shape produce the same SQL and share the Hibernate query plan cache
+ * and the driver's statement cache, whatever the entity.
+ * </p>
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GridQueryEngine {
+
+    private final EntityManager entityManager;
+    private final QueryGovernor queryGovernor;
+    private final PageMapper pageMapper;
+
+    /**
+     * Retrieves a page of grid rows.
+     *
+     * @param grid            the grid definition
+     * @param pageSortRequest the requested page and sort order
+     * @param filter          the filter rows to apply, may be {@code null}
+     * @param <E>             the entity type
+     * @param <R>             the row type
+     * @return a page of rows with pagination metadata
+     * @throws QueryRejectedException if the request uses other columns or exceeds the budgets
+     */
+    public <E, R> PageResponse<R> query(GridDefinition<E, R> grid, PageSortRequest pageSortRequest, List<FilterRow> filter) {
+        return query(grid, pageSortRequest, filter, null);
+    }
+
+    /**
+     * Retrieves a page of grid rows, restricted to the rows matching a fixed specification.
+     *
+     * @param grid            the grid definition
+     * @param pageSortRequest the requested page and sort order
+     * @param filter          the filter rows to apply, may be {@code null}
+     * @param restriction     a restriction applied in addition to the filters, may be {@code null}
+     * @param <E>             the entity type
+     * @param <R>             the row type
+     * @return a page of rows with pagination metadata
+     * @throws QueryRejectedException if the request uses other columns or exceeds the budgets
+     */
+    public <E, R> PageResponse<R> query(GridDefinition<E, R> grid, PageSortRequest pageSortRequest,
+                                        List<FilterRow> filter, Specification<E> restriction) {
+        checkColumns(grid, pageSortRequest, filter);
+        GovernedQuery query = queryGovernor.govern(grid.entityClass(), pageSortRequest, filter);
+        Specification<E> filterSpec = FilterSpecificationUtil.buildSpecification(query.filter());
+        Specification<E> spec = restriction == null ? filterSpec : filterSpec.and(restriction);
+        PageRequest pageRequest = pageMapper.toPageRequest(query.pageSortRequest());
+        log.atDebug().setMessage("Grid query on {}: page {}, filter shape {}")
+                .addArgument(() -> grid.entityClass().getSimpleName())
+                .addArgument(pageRequest)
+                .addArgument(() -> QueryShape.of(query))
+                .log();
+        return queryGovernor.execute(query, () -> pageMapper.toPageResponse(page(grid, spec, query.pageSortRequest(), pageRequest)));
+    }
+
+    private <E, R> Page<R> page(GridDefinition<E, R> grid, Specification<E> spec, PageSortRequest request, PageRequest pageRequest) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<R> select = cb.createQuery(grid.rowType());
+        Root<E> root = select.from(grid.entityClass());
+        select.select(cb.construct(grid.rowType(), grid.columns().stream()
+                .map(root::get)
+                .toArray(Selection<?>[]::new)));
+        select.where(spec.toPredicate(root, select, cb));
+        select.orderBy(orderBy(cb, root, request.sortBy()));
+        List<R> content = entityManager.createQuery(select)
+                .setFirstResult((int) pageRequest.getOffset())
+                .setMaxResults(pageRequest.getPageSize())
+                .getResultList();
+        return PageableExecutionUtils.getPage(content, pageRequest, () -> count(grid.entityClass(), spec));
+    }
+
+    // The requested order, then the id in the direction of the last sort, so ties page deterministically
+    private static List<Order> orderBy(CriteriaBuilder cb, Root<?> root, List<PageSortRequest.SortRequest> sortBy) {
+        String id = root.getModel().getId(root.getModel().getIdType().getJavaType()).getName();
+        List<Order> orders = new ArrayList<>();
+        Sort.Direction last = Sort.Direction.ASC;
+        for (PageSortRequest.SortRequest sort : sortBy) {
+            orders.add(sort.direction().isAscending() ? cb.asc(root.get(sort.sortBy())) : cb.desc(root.get(sort.sortBy())));
+            last = sort.direction();
+        }
+        if (sortBy.stream().noneMatch(sort -> id.equals(sort.sortBy()))) {
+            orders.add(last.isAscending() ? cb.asc(root.get(id)) : cb.desc(root.get(id)));
+        }
+        return orders;
+    }
+
+    private <E> long count(Class<E> entityClass, Specification<E> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> count = cb.createQuery(Long.class);
+        Root<E> root = count.from(entityClass);
+        count.select(cb.count(root)).where(spec.toPredicate(root, count, cb));
+        return entityManager.createQuery(count).getSingleResult();
+    }
+
+    private static void checkColumns(GridDefinition<?, ?> grid, PageSortRequest pageSortRequest, List<FilterRow> filter) {
+        if (filter != null) {
+            for (FilterRow row : filter) {
+                if (row.column() != null && !grid.columns().contains(row.column())) {
+                    throw new QueryRejectedException("Filtering by '" + row.column() + "' is not supported");
+                }
+            }
+        }
+        for (PageSortRequest.SortRequest sort : pageSortRequest.sortBy()) {
+            if (!grid.columns().contains(sort.sortBy())) {
+                throw new QueryRejectedException("Sorting by '" + sort.sortBy() + "' is not supported");
+            }
+        }
+    }
+}
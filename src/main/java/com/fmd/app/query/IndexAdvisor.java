@@ -0,0 +1,209 @@
+package com.fmd.app.query;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.annotations.Subselect;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Recommends composite indexes from the workload captured by the {@link WorkloadRecorder}.
+ * <p>
+ * For every recorded shape that ran often and slowly enough, the advisor proposes an index
+ * made of the columns compared with {@code equals}, followed by the sort columns when they
+ * share one direction. Filters using {@code contains}, {@code startsWith} or {@code endsWith}
+ * compare {@code lower(column)} and cannot use a plain index, so they are not considered.
+ * Shapes already covered by an existing index prefix are skipped and identical proposals are
+ * merged. When {@code app.index-advisor.allow-create} is set the indexes can be created, and
+ * each one is verified by comparing the {@code EXPLAIN} plan of a representative query
+ * before and after creation. The representative query repeats every filter of the shape with
+ * its real operator and a value taken from the table, and an index only counts as used when
+ * H2 names it as the access path of the table ({@code /* PUBLIC.IDX_...: ... *}{@code /}).
+ * </p>
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IndexAdvisor {
+
+    private static final int MAX_IDENTIFIER_LENGTH = 128;
+    private static final int SAMPLE_FRAGMENT_LENGTH = 3;
+
+    private final WorkloadRecorder workloadRecorder;
+    private final TableStatistics tableStatistics;
+    private final IndexAdvisorProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Computes the current index recommendations, the most valuable first.
+     *
+     * @return the recommendations
+     */
+    public List<IndexRecommendation> recommend() {
+        Map<String, IndexRecommendation> byIndex = new LinkedHashMap<>();
+        double minMeanLatencyMs = properties.minMeanLatency().toNanos() / 1_000_000.0;
+        for (WorkloadRecorder.ShapeSummary summary : workloadRecorder.snapshot()) {
+            if (summary.count() < properties.minSamples() || summary.meanLatencyMs() < minMeanLatencyMs) {
+                continue;
+            }
+            workloadRecorder.entityClass(summary.shape().entity())
+                    // views over several tables have no table of their own to index
+                    .filter(entityClass -> !entityClass.isAnnotationPresent(Subselect.class))
+                    .map(entityClass -> propose(entityClass, summary))
+                    .ifPresent(proposal -> byIndex.merge(proposal.indexName(), proposal, IndexAdvisor::merge));
+        }
+        return byIndex.values().stream()
+                .sorted((a, b) -> Double.compare(b.totalLatencyMs(), a.totalLatencyMs()))
+                .toList();
+    }
+
+    /**
+     * Creates the recommended indexes, if allowed, and verifies them with {@code EXPLAIN}.
+     * When creation is not allowed the recommendations are returned with their current plan only.
+     *
+     * @return the recommendations with their verification results
+     */
+    public List<IndexRecommendation> apply() {
+        List<IndexRecommendation> results = new ArrayList<>();
+        for (IndexRecommendation recommendation : recommend()) {
+            String before = explain(recommendation.sampleSql());
+            if (!properties.allowCreate()) {
+                results.add(recommendation.withResult(IndexRecommendation.Status.RECOMMENDED, before, null));
+                continue;
+            }
+            try {
+                log.info("Creating recommended index: {}", recommendation.ddl());
+                jdbcTemplate.execute(recommendation.ddl());
+                tableStatistics.invalidate(recommendation.table());
+                String after = explain(recommendation.sampleSql());
+                boolean used = accessPath(after, recommendation.table())
+                        .filter(recommendation.indexName()::equalsIgnoreCase)
+                        .isPresent();
+                results.add(recommendation.withResult(
+                        used ? IndexRecommendation.Status.VERIFIED : IndexRecommendation.Status.NOT_USED, before, after));
+            } catch (DataAccessException e) {
+                log.error("Failed to create index {}", recommendation.indexName(), e);
+                results.add(recommendation.withResult(IndexRecommendation.Status.FAILED, before, e.getMessage()));
+            }
+        }
+        return results;
+    }
+
+    private IndexRecommendation propose(Class<?> entityClass, WorkloadRecorder.ShapeSummary summary) {
+        QueryShape shape = summary.shape();
+        List<String> columns = new ArrayList<>();
+        for (QueryShape.Filter filter : shape.filters()) {
+            if ("equals".equals(filter.operator())) {
+                String column = tableStatistics.columnName(entityClass, filter.column());
+                if (!columns.contains(column)) {
+                    columns.add(column);
+                }
+            }
+        }
+        // An index can only deliver the order if all sort columns use the same direction
+        boolean singleDirection = shape.sorts().stream().map(QueryShape.Sort::direction).distinct().count() <= 1;
+        List<String> orderBy = shape.sorts().stream()
+                .map(sort -> tableStatistics.columnName(entityClass, sort.column()) + " " + sort.direction())
+                .toList();
+        if (singleDirection) {
+            shape.sorts().stream()
+                    .map(sort -> tableStatistics.columnName(entityClass, sort.column()))
+                    .filter(column -> !columns.contains(column))
+                    .forEach(columns::add);
+        }
+        List<String> indexColumns = columns.stream().limit(properties.maxIndexColumns()).toList();
+        TableStatistics.TableStats stats = tableStatistics.statsFor(entityClass);
+        if (indexColumns.isEmpty() || stats.hasIndexPrefix(indexColumns)) {
+            return null;
+        }
+
+        String table = stats.table();
+        List<String> predicates = shape.filters().stream()
+                .map(filter -> predicate(table, tableStatistics.columnName(entityClass, filter.column()), filter.operator()))
+                .toList();
+        String indexName = indexName(table, indexColumns);
+        String ddl = "create index if not exists " + indexName + " on " + table
+                + " (" + String.join(", ", indexColumns) + ")";
+        String sampleSql = "select * from " + table
+                + (predicates.isEmpty() ? "" : " where " + String.join(" and ", predicates))
+                + (orderBy.isEmpty() ? "" : " order by " + String.join(", ", orderBy))
+                + " limit 10";
+        return new IndexRecommendation(table, indexColumns, indexName, ddl, summary.count(),
+                summary.count() * summary.meanLatencyMs(), sampleSql, IndexRecommendation.Status.RECOMMENDED,
+                null, null);
+    }
+
+    private static IndexRecommendation merge(IndexRecommendation a, IndexRecommendation b) {
+        // keep the sample query of the more expensive shape
+        IndexRecommendation primary = a.totalLatencyMs() >= b.totalLatencyMs() ? a : b;
+        return new IndexRecommendation(primary.table(), primary.columns(), primary.indexName(), primary.ddl(),
+                a.samples() + b.samples(), a.totalLatencyMs() + b.totalLatencyMs(), primary.sampleSql(),
+                primary.status(), null, null);
+    }
+
+    private static String indexName(String table, List<String> columns) {
+        String name = ("idx_" + table + "_" + String.join("_", columns)).toLowerCase(Locale.ROOT);
+        return name.length() > MAX_IDENTIFIER_LENGTH ? name.substring(0, MAX_IDENTIFIER_LENGTH) : name;
+    }
+
+    /**
+     * Builds the predicate the filter specification generates for an operator, with a value
+     * that exists in the table so that the planner sees a realistic selectivity.
+     */
+    private String predicate(String table, String column, String operator) {
+        String value = sampleValue(table, column);
+        String fragment = value.substring(0, Math.min(SAMPLE_FRAGMENT_LENGTH, value.length()));
+        return switch (operator) {
+            case "equals" -> column + " = " + literal(value);
+            case "contains" -> "lower(" + column + ") like " + literal("%" + fragment.toLowerCase(Locale.ROOT) + "%");
+            case "startsWith" -> "lower(" + column + ") like " + literal(fragment.toLowerCase(Locale.ROOT) + "%");
+            case "endsWith" -> "lower(" + column + ") like "
+                    + literal("%" + value.substring(value.length() - fragment.length()).toLowerCase(Locale.ROOT));
+            default -> throw new IllegalArgumentException("Unsupported operator: " + operator);
+        };
+    }
+
+    private String sampleValue(String table, String column) {
+        List<String> values = jdbcTemplate.queryForList("select cast(" + column + " as varchar) from " + table
+                + " where " + column + " is not null and cast(" + column + " as varchar) <> '' limit 1", String.class);
+        return values.isEmpty() ? "a" : values.get(0);
+    }
+
+    private static String literal(String value) {
+        return "'" + value.replace("'", "''") + "'";
+    }
+
+    /**
+     * Extracts the access path H2 chose for a table from an {@code EXPLAIN} plan, e.g.
+     * {@code IDX_PERSON_LAST_NAME} from {@code FROM "PUBLIC"."PERSON" /* PUBLIC.IDX_PERSON_LAST_NAME: ... *}{@code /}.
+     * A table scan yields {@code tableScan}.
+     */
+    static Optional<String> accessPath(String plan, String table) {
+        Pattern pattern = Pattern.compile("FROM\\s+(?:\"?\\w+\"?\\.)?\"?" + Pattern.quote(table)
+                + "\"?(?:\\s+\"?\\w+\"?)?\\s*/\\*\\s*([^:*\\s]+)", Pattern.CASE_INSENSITIVE);
+        Matcher matcher = pattern.matcher(plan);
+        if (!matcher.find()) {
+            return Optional.empty();
+        }
+        String path = matcher.group(1);
+        return Optional.of(path.substring(path.lastIndexOf('.') + 1));
+    }
+
+    private String explain(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("explain " + sql, String.class));
+    }
+}
@@ -0,0 +1,70 @@
+package com.fmd.app.query;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Actuator endpoint exposing the recorded grid workload and the index recommendations.
+ * <ul>
+ *     <li>{@code GET /actuator/indexadvisor} returns the workload and the recommendations</li>
+ *     <li>{@code POST /actuator/indexadvisor} creates the indexes (if allowed) and verifies them</li>
+ *     <li>{@code DELETE /actuator/indexadvisor} clears the recorded workload</li>
+ * </ul>
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+@Endpoint(id = "indexadvisor")
+@RequiredArgsConstructor
+public class IndexAdvisorEndpoint {
+
+    private final WorkloadRecorder workloadRecorder;
+    private final IndexAdvisor indexAdvisor;
+
+    /**
+     * Report returned by the endpoint.
+     *
+     * @param workload        the recorded shapes, the most expensive first
+     * @param recommendations the index recommendations
+     */
+    public record Report(
+            List<WorkloadRecorder.ShapeSummary> workload,
+            List<IndexRecommendation> recommendations
+    ) {}
+
+    /**
+     * Returns the recorded workload and the current recommendations.
+     *
+     * @return the report
+     */
+    @ReadOperation
+    public Report report() {
+        return new Report(workloadRecorder.snapshot(), indexAdvisor.recommend());
+    }
+
+    /**
+     * Creates and verifies the recommended indexes.
+     *
+     * @return the recommendations with their verification results
+     */
+    @WriteOperation
+    public List<IndexRecommendation> apply() {
+        return indexAdvisor.apply();
+    }
+
+    /**
+     * Clears the recorded workload.
+     */
+    @DeleteOperation
+    public void reset() {
+        workloadRecorder.reset();
+    }
+}
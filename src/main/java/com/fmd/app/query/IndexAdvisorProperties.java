@@ -0,0 +1,32 @@
+package com.fmd.app.query;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the {@link WorkloadRecorder} and {@link IndexAdvisor}.
+ * <p>
+ * Bound from the {@code app.index-advisor} prefix.
+ * </p>
+ *
+ * @param enabled         whether grid request shapes are recorded
+ * @param allowCreate     whether the advisor may create the indexes it recommends
+ * @param minSamples      the number of executions a shape needs before it is considered
+ * @param minMeanLatency  the mean latency a shape needs before it is considered
+ * @param maxShapes       the maximum number of distinct shapes kept in memory
+ * @param maxIndexColumns the maximum number of columns in a recommended index
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@ConfigurationProperties(prefix = "app.index-advisor")
+public record IndexAdvisorProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("false") boolean allowCreate,
+        @DefaultValue("20") long minSamples,
+        @DefaultValue("20ms") Duration minMeanLatency,
+        @DefaultValue("500") int maxShapes,
+        @DefaultValue("3") int maxIndexColumns
+) {}
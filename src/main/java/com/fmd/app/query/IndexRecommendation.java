@@ -0,0 +1,61 @@
+package com.fmd.app.query;
+
+import java.util.List;
+
+/**
+ * An index recommended by the {@link IndexAdvisor}.
+ *
+ * @param table          the physical table name
+ * @param columns        the physical index columns, in index order
+ * @param indexName      the name the index is created with
+ * @param ddl            the statement that creates the index
+ * @param samples        the number of recorded executions that would benefit
+ * @param totalLatencyMs the total recorded latency of those executions in milliseconds
+ * @param sampleSql      a representative query used to verify the index with {@code EXPLAIN}
+ * @param status         the state of the recommendation
+ * @param planBefore     the {@code EXPLAIN} output before the index was created, if verified
+ * @param planAfter      the {@code EXPLAIN} output after the index was created, if created
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+public record IndexRecommendation(
+        String table,
+        List<String> columns,
+        String indexName,
+        String ddl,
+        long samples,
+        double totalLatencyMs,
+        String sampleSql,
+        Status status,
+        String planBefore,
+        String planAfter
+) {
+
+    /**
+     * The state of a recommendation.
+     */
+    public enum Status {
+        /** The index is recommended but has not been created. */
+        RECOMMENDED,
+        /** The index was created and the sample query plan uses it. */
+        VERIFIED,
+        /** The index was created but the sample query plan does not use it. */
+        NOT_USED,
+        /** Creating the index failed. */
+        FAILED
+    }
+
+    /**
+     * Returns a copy of this recommendation with the verification result.
+     *
+     * @param status     the new status
+     * @param planBefore the plan before the index was created
+     * @param planAfter  the plan after the index was created
+     * @return the updated recommendation
+     */
+    public IndexRecommendation withResult(Status status, String planBefore, String planAfter) {
+        return new IndexRecommendation(table, columns, indexName, ddl, samples, totalLatencyMs, sampleSql,
+                status, planBefore, planAfter);
+    }
+}
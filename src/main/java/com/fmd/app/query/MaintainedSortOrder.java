@@ -0,0 +1,31 @@
+package com.fmd.app.query;
+
+import com.fmd.app.dto.FilterRow;
+import com.fmd.app.dto.PageSortRequest;
+
+import java.util.List;
+
+/**
+ * A component that maintains a sort order outside the database and can serve a page of it
+ * without sorting.
+ * <p>
+ * The {@link QueryGovernor} asks all implementations whether a request is covered; covered
+ * requests are costed as a direct jump to the requested rank range instead of a scan and sort.
+ * </p>
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+public interface MaintainedSortOrder {
+
+    /**
+     * Checks whether a request can be served from the maintained order.
+     *
+     * @param entityClass the queried entity
+     * @param sortBy      the requested sort order
+     * @param filter      the effective filter rows
+     * @return {@code true} if the page can be read by rank
+     */
+    boolean covers(Class<?> entityClass, List<PageSortRequest.SortRequest> sortBy, List<FilterRow> filter);
+}
@@ -0,0 +1,25 @@
+package com.fmd.app.query;
+
+/**
+ * Estimated cost of a grid request, as computed by the {@link QueryGovernor}.
+ *
+ * @param tableRows     the estimated number of rows in the queried table
+ * @param scannedRows   the estimated number of rows visited by the access path
+ * @param matchedRows   the estimated number of rows matching all filters
+ * @param work          the estimated total row visits, including predicate evaluation, sorting and skipped rows
+ * @param resultBytes   the estimated memory needed to materialise the requested page
+ * @param fullScan      whether no filter can be answered through an index
+ * @param indexedSort   whether the requested order can be read from an index
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+public record QueryCost(
+        long tableRows,
+        long scannedRows,
+        long matchedRows,
+        long work,
+        long resultBytes,
+        boolean fullScan,
+        boolean indexedSort
+) {}
@@ -0,0 +1,267 @@
+package com.fmd.app.query;
+
+import com.fmd.app.dto.FilterRow;
+import com.fmd.app.dto.PageSortRequest;
+import com.fmd.app.utils.FilterSpecificationUtil;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.Attribute.PersistentAttributeType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Estimates the cost of user-supplied grid requests and enforces the configured budgets.
+ * <p>
+ * Every request is checked before it reaches the database: columns are validated against
+ * the entity's basic attributes, the number of filters is bounded, and the cost is estimated
+ * from the filter shape, the index layout of the table and its row count estimate. Text
+ * operators are only accepted on text columns and {@code equals} values must convert to the
+ * column's type. Requests whose page would not fit the memory budget are capped, requests whose
+ * estimated work exceeds the row budget are rejected, and admitted requests run inside a
+ * read-only transaction whose deadline is the smaller of the time budget and the statement
+ * timeout. Requests covered by a {@link MaintainedSortOrder}
+ * are costed as reading the page by rank.
+ * </p>
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QueryGovernor {
+
+    private static final Set<String> SUPPORTED_OPERATORS = Set.of("contains", "equals", "startsWith", "endsWith");
+    // compare lower(column) with a pattern, so they only apply to text columns
+    private static final Set<String> TEXT_OPERATORS = Set.of("contains", "startsWith", "endsWith");
+
+    private final QueryGovernorProperties properties;
+    private final TableStatistics tableStatistics;
+    private final EntityManagerFactory entityManagerFactory;
+    private final PlatformTransactionManager transactionManager;
+    private final WorkloadRecorder workloadRecorder;
+    private final ObjectProvider<MaintainedSortOrder> maintainedSortOrders;
+
+    private final Map<Class<?>, Map<String, Class<?>>> queryableColumns = new ConcurrentHashMap<>();
+
+    /**
+     * Checks a grid request against the budgets and returns the request that may be executed.
+     *
+     * @param entityClass     the queried entity
+     * @param pageSortRequest the requested page and sort order
+     * @param filter          the requested filter rows, may be {@code null}
+     * @return the admitted, possibly capped, request
+     * @throws QueryRejectedException if the request is invalid or too expensive
+     */
+    public GovernedQuery govern(Class<?> entityClass, PageSortRequest pageSortRequest, List<FilterRow> filter) {
+        return govern(entityClass, entityClass, pageSortRequest, filter);
+    }
+
+    /**
+     * Checks a grid request on an entity without a table of its own, e.g. a view over several
+     * tables. Columns are validated against the queried entity; the cost is estimated from the
+     * table statistics of another entity, typically the largest table behind the view.
+     *
+     * @param entityClass     the queried entity
+     * @param statisticsClass the entity whose table statistics drive the cost estimate
+     * @param pageSortRequest the requested page and sort order
+     * @param filter          the requested filter rows, may be {@code null}
+     * @return the admitted, possibly capped, request
+     * @throws QueryRejectedException if the request is invalid or too expensive
+     */
+    public GovernedQuery govern(Class<?> entityClass, Class<?> statisticsClass, PageSortRequest pageSortRequest,
+                                List<FilterRow> filter) {
+        List<FilterRow> effectiveFilter = filter == null ? List.of() : filter.stream()
+                .filter(row -> row.column() != null && row.value() != null && !row.value().isEmpty())
+                .toList();
+        if (!properties.enabled()) {
+            return new GovernedQuery(entityClass, pageSortRequest, effectiveFilter, Duration.ZERO, null, false);
+        }
+        validate(entityClass, pageSortRequest, effectiveFilter);
+
+        int pageSize = Math.min(pageSortRequest.pageSize(), maxPageSize());
+        PageSortRequest admitted = pageSortRequest;
+        boolean capped = pageSize < pageSortRequest.pageSize();
+        if (capped) {
+            // keep the first requested row on the returned page
+            int page = (int) ((long) pageSortRequest.offset() * pageSortRequest.pageSize() / pageSize);
+            admitted = new PageSortRequest(page, pageSize, pageSortRequest.sortBy());
+        }
+
+        QueryCost cost = estimate(entityClass, statisticsClass, admitted, effectiveFilter);
+        log.debug("Estimated cost for {} request {} with filter {}: {}",
+                entityClass.getSimpleName(), admitted, effectiveFilter, cost);
+        if (cost.work() > properties.maxScannedRows()) {
+            throw new QueryRejectedException("The requested filter and sort combination is too expensive "
+                    + "(estimated " + cost.work() + " row visits, budget " + properties.maxScannedRows()
+                    + "). Narrow the filter, use 'equals' or 'startsWith' instead of 'contains', or sort by fewer columns.");
+        }
+        if (capped) {
+            log.info("Capped page size for {} from {} to {}",
+                    entityClass.getSimpleName(), pageSortRequest.pageSize(), pageSize);
+        }
+        return new GovernedQuery(entityClass, admitted, effectiveFilter, deadline(), cost, capped);
+    }
+
+    /**
+     * Runs an admitted request inside a read-only transaction that applies the request deadline.
+     *
+     * @param query  the admitted request
+     * @param action the database work for the request
+     * @param <R>    the result type
+     * @return the result of the action
+     * @throws QueryRejectedException if the deadline is exceeded
+     */
+    public <R> R execute(GovernedQuery query, Supplier<R> action) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        if (!query.timeout().isZero()) {
+            // Transaction timeouts are applied by Spring as JDBC query timeouts to every statement,
+            // each getting the time left until the deadline; a statement started after it fails
+            template.setTimeout((int) Math.max(1, (query.timeout().toMillis() + 999) / 1000));
+        }
+        long start = System.nanoTime();
+        try {
+            return template.execute(status -> action.get());
+        } catch (QueryTimeoutException | TransactionTimedOutException e) {
+            throw new QueryRejectedException("The query exceeded the time limit of "
+                    + query.timeout().toMillis() + " ms. Narrow the filter and try again.");
+        } finally {
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            workloadRecorder.record(query, elapsed);
+            if (properties.enabled() && elapsed.compareTo(properties.timeBudget()) > 0) {
+                // work outside the statements (hydration, mapping) is not interrupted, only reported
+                log.warn("Query exceeded time budget of {} ms: took {} ms, cost {}",
+                        properties.timeBudget().toMillis(), elapsed.toMillis(), query.cost());
+            }
+        }
+    }
+
+    // Spring gives every statement of the transaction the time that is left, so this bounds the whole request
+    private Duration deadline() {
+        Duration budget = properties.timeBudget();
+        if (budget.isZero() || budget.isNegative()) {
+            return properties.statementTimeout();
+        }
+        return budget.compareTo(properties.statementTimeout()) < 0 ? budget : properties.statementTimeout();
+    }
+
+    private int maxPageSize() {
+        long byMemory = properties.maxResultMemory().toBytes() / Math.max(1, properties.estimatedRowBytes());
+        return (int) Math.max(1, Math.min(properties.maxPageSize(), byMemory));
+    }
+
+    private void validate(Class<?> entityClass, PageSortRequest pageSortRequest, List<FilterRow> filter) {
+        if (pageSortRequest.offset() < 0 || pageSortRequest.pageSize() < 1) {
+            throw new QueryRejectedException("Offset must not be negative and page size must be positive");
+        }
+        if (filter.size() > properties.maxFilters()) {
+            throw new QueryRejectedException("Too many filters: " + filter.size()
+                    + " (maximum " + properties.maxFilters() + ")");
+        }
+        Map<String, Class<?>> columns = queryableColumns.computeIfAbsent(entityClass, this::loadQueryableColumns);
+        for (FilterRow row : filter) {
+            Class<?> type = columns.get(row.column());
+            if (type == null) {
+                throw new QueryRejectedException("Filtering by '" + row.column() + "' is not supported");
+            }
+            if (row.operator() == null || !SUPPORTED_OPERATORS.contains(row.operator())) {
+                throw new QueryRejectedException("Unsupported operator: " + row.operator());
+            }
+            if (TEXT_OPERATORS.contains(row.operator()) && type != String.class) {
+                throw new QueryRejectedException("Operator '" + row.operator() + "' is not supported for '"
+                        + row.column() + "', use 'equals'");
+            }
+            try {
+                FilterSpecificationUtil.typedValue(type, row.value());
+            } catch (IllegalArgumentException e) {
+                throw new QueryRejectedException("Invalid value for '" + row.column() + "': " + e.getMessage());
+            }
+        }
+        for (PageSortRequest.SortRequest sort : pageSortRequest.sortBy()) {
+            if (!columns.containsKey(sort.sortBy())) {
+                throw new QueryRejectedException("Sorting by '" + sort.sortBy() + "' is not supported");
+            }
+        }
+    }
+
+    private Map<String, Class<?>> loadQueryableColumns(Class<?> entityClass) {
+        return entityManagerFactory.getMetamodel().entity(entityClass).getSingularAttributes().stream()
+                .filter(attribute -> attribute.getPersistentAttributeType() == PersistentAttributeType.BASIC)
+                .filter(attribute -> !attribute.isVersion())
+                .collect(Collectors.toUnmodifiableMap(SingularAttribute::getName, SingularAttribute::getJavaType));
+    }
+
+    private QueryCost estimate(Class<?> entityClass, Class<?> statisticsClass, PageSortRequest request,
+                               List<FilterRow> filter) {
+        TableStatistics.TableStats stats = tableStatistics.statsFor(statisticsClass);
+        long rows = Math.max(1, stats.rowCount());
+        long resultBytes = (long) request.pageSize() * properties.estimatedRowBytes();
+
+        if (maintainedSortOrders.stream().anyMatch(order -> order.covers(entityClass, request.sortBy(), filter))) {
+            // only the requested page is read, by primary key
+            long page = request.pageSize();
+            return new QueryCost(rows, page, page, page, resultBytes, false, true);
+        }
+
+        // Only 'equals' on an indexed column can use an index; the other operators compare lower(column)
+        double indexSelectivity = 1.0;
+        double residualSelectivity = 1.0;
+        double predicateWork = 1.0;
+        for (FilterRow row : filter) {
+            String operator = row.operator();
+            boolean sargable = "equals".equals(operator)
+                    && stats.hasLeadingIndex(tableStatistics.columnName(statisticsClass, row.column()));
+            if (sargable) {
+                indexSelectivity *= selectivity(operator);
+            } else {
+                residualSelectivity *= selectivity(operator);
+                predicateWork += predicateWeight(operator);
+            }
+        }
+        boolean fullScan = indexSelectivity == 1.0;
+        long scanned = Math.max(1, (long) (rows * indexSelectivity));
+        long matched = Math.max(1, (long) (scanned * residualSelectivity));
+
+        List<String> sortColumns = request.sortBy().stream()
+                .map(sort -> tableStatistics.columnName(statisticsClass, sort.sortBy()))
+                .toList();
+        boolean indexedSort = fullScan && stats.hasIndexPrefix(sortColumns);
+        long sortWork = indexedSort ? 0 : (long) (matched * (Math.log(Math.max(2, matched)) / Math.log(2)));
+        long skipped = (long) request.offset() * request.pageSize();
+
+        long work = (long) (scanned * predicateWork) + sortWork + skipped;
+        return new QueryCost(rows, scanned, matched, work, resultBytes, fullScan, indexedSort);
+    }
+
+    private static double selectivity(String operator) {
+        return switch (operator) {
+            case "equals" -> 0.01;
+            case "startsWith" -> 0.05;
+            default -> 0.1;
+        };
+    }
+
+    private static double predicateWeight(String operator) {
+        return switch (operator) {
+            case "equals" -> 0.25;
+            case "startsWith" -> 0.5;
+            default -> 1.0;
+        };
+    }
+}
@@ -0,0 +1,42 @@
+package com.fmd.app.query;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the {@link QueryGovernor}.
+ * <p>
+ * Bound from the {@code app.query-governor} prefix. The budgets are applied to every
+ * user-supplied grid request before it reaches the database.
+ * </p>
+ *
+ * @param enabled           whether requests are governed at all
+ * @param maxPageSize       the largest page size a client may request; larger requests are capped
+ * @param maxFilters        the largest number of filter rows accepted in one request
+ * @param maxScannedRows    the budget of estimated row visits (scan, filter, sort and skip work) per request
+ * @param maxResultMemory   the budget for the estimated size of one materialised page
+ * @param estimatedRowBytes the assumed in-memory footprint of one hydrated row and its DTO
+ * @param statementTimeout  the longest time the statements of a governed request may take together
+ * @param timeBudget        the wall-clock budget of a governed request; its statements are cancelled
+ *                          once it is used up (if smaller than the statement timeout) and a request
+ *                          that still exceeds it is reported as slow
+ * @param statisticsTtl     how long table statistics are cached before they are reloaded
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@ConfigurationProperties(prefix = "app.query-governor")
+public record QueryGovernorProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100") int maxPageSize,
+        @DefaultValue("8") int maxFilters,
+        @DefaultValue("5000000") long maxScannedRows,
+        @DefaultValue("8MB") DataSize maxResultMemory,
+        @DefaultValue("1024") int estimatedRowBytes,
+        @DefaultValue("5s") Duration statementTimeout,
+        @DefaultValue("2s") Duration timeBudget,
+        @DefaultValue("30s") Duration statisticsTtl
+) {}
@@ -0,0 +1,27 @@
+package com.fmd.app.query;
+
+import com.vaadin.hilla.exception.EndpointException;
+
+/**
+ * Thrown when the {@link QueryGovernor} refuses to run a request because it would exceed
+ * the configured budgets or references columns that may not be queried.
+ * <p>
+ * Extends {@link EndpointException} so that the message is delivered to the browser
+ * instead of being replaced by a generic server error.
+ * </p>
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+public class QueryRejectedException extends EndpointException {
+
+    /**
+     * Creates a new exception with the given message.
+     *
+     * @param message the reason the request was rejected
+     */
+    public QueryRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,72 @@
+package com.fmd.app.query;
+
+import com.fmd.app.dto.FilterRow;
+import com.fmd.app.dto.PageSortRequest;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Normalised shape of a grid request: which columns are filtered with which operators and
+ * which columns the result is sorted by. Filter values are dropped and filters are ordered,
+ * so requests that only differ in their values share one shape.
+ *
+ * @param entity  the simple name of the queried entity
+ * @param filters the filtered attributes, each paired with its operator, in attribute order
+ * @param sorts   the sort attributes, each paired with its direction, in request order
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+public record QueryShape(
+        String entity,
+        List<Filter> filters,
+        List<Sort> sorts
+) {
+
+    /**
+     * A filtered attribute and its operator.
+     *
+     * @param column   the attribute name
+     * @param operator the filter operator
+     */
+    public record Filter(String column, String operator) {}
+
+    /**
+     * A sort attribute and its direction.
+     *
+     * @param column    the attribute name
+     * @param direction the sort direction
+     */
+    public record Sort(String column, String direction) {}
+
+    /**
+     * Derives the shape of an admitted grid request.
+     *
+     * @param query the admitted request
+     * @return the normalised shape
+     */
+    public static QueryShape of(GovernedQuery query) {
+        return of(query.entityClass(), query.pageSortRequest(), query.filter());
+    }
+
+    /**
+     * Derives the shape of a grid request.
+     *
+     * @param entityClass     the queried entity
+     * @param pageSortRequest the requested page and sort order
+     * @param filter          the effective filter rows
+     * @return the normalised shape
+     */
+    public static QueryShape of(Class<?> entityClass, PageSortRequest pageSortRequest, List<FilterRow> filter) {
+        List<Filter> filters = filter.stream()
+                .map(row -> new Filter(row.column(), row.operator()))
+                .distinct()
+                .sorted(Comparator.comparing(Filter::column).thenComparing(Filter::operator))
+                .toList();
+        List<Sort> sorts = pageSortRequest.sortBy().stream()
+                .map(sort -> new Sort(sort.sortBy(), sort.direction().name()))
+                .toList();
+        return new QueryShape(entityClass.getSimpleName(), filters, sorts);
+    }
+}
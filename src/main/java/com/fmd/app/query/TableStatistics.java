@@ -0,0 +1,191 @@
+package com.fmd.app.query;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Provides cached table statistics (row count estimate and index layout) for JPA entities.
+ * <p>
+ * Statistics are read from the database metadata and cached for
+ * {@link QueryGovernorProperties#statisticsTtl()} so that cost estimation does not add
+ * a round trip to every request.
+ * </p>
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TableStatistics {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final QueryGovernorProperties properties;
+
+    private final Map<String, TableStats> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Statistics of a single table.
+     *
+     * @param table    the physical table name
+     * @param rowCount the estimated number of rows
+     * @param indexes  the column lists of all indexes on the table, in index order
+     * @param loadedAt when the statistics were read
+     */
+    public record TableStats(
+            String table,
+            long rowCount,
+            List<List<String>> indexes,
+            Instant loadedAt
+    ) {
+        /**
+         * Checks whether the given column is the leading column of an index.
+         *
+         * @param column the physical column name
+         * @return {@code true} if an index can be used to look up the column
+         */
+        public boolean hasLeadingIndex(String column) {
+            return indexes.stream().anyMatch(index -> index.get(0).equalsIgnoreCase(column));
+        }
+
+        /**
+         * Checks whether the given columns form a prefix of an index.
+         *
+         * @param columns the physical column names, in order
+         * @return {@code true} if an index delivers rows in that column order
+         */
+        public boolean hasIndexPrefix(List<String> columns) {
+            return indexes.stream().anyMatch(index -> index.size() >= columns.size()
+                    && IntStream.range(0, columns.size()).allMatch(i -> columns.get(i).equalsIgnoreCase(index.get(i))));
+        }
+    }
+
+    /**
+     * Returns the statistics for the table an entity is mapped to.
+     *
+     * @param entityClass the entity class
+     * @return the cached or freshly loaded statistics
+     */
+    public TableStats statsFor(Class<?> entityClass) {
+        String table = tableName(entityClass);
+        return cache.compute(table, (key, current) -> current == null || isExpired(current) ? load(key) : current);
+    }
+
+    /**
+     * Drops the cached statistics for an entity, e.g. after an index has been created.
+     *
+     * @param entityClass the entity class
+     */
+    public void invalidate(Class<?> entityClass) {
+        invalidate(tableName(entityClass));
+    }
+
+    /**
+     * Drops the cached statistics for a table.
+     *
+     * @param table the physical table name
+     */
+    public void invalidate(String table) {
+        cache.remove(table);
+    }
+
+    /**
+     * Resolves the physical table name of an entity.
+     *
+     * @param entityClass the entity class
+     * @return the table name as mapped by Hibernate
+     */
+    public String tableName(Class<?> entityClass) {
+        return persister(entityClass).getTableName();
+    }
+
+    /**
+     * Resolves the physical column name of an entity attribute.
+     *
+     * @param entityClass the entity class
+     * @param attribute   the attribute name
+     * @return the column name as mapped by Hibernate
+     */
+    public String columnName(Class<?> entityClass, String attribute) {
+        AbstractEntityPersister persister = persister(entityClass);
+        if (attribute.equals(persister.getIdentifierPropertyName())) {
+            return persister.getIdentifierColumnNames()[0];
+        }
+        return persister.getPropertyColumnNames(attribute)[0];
+    }
+
+    private AbstractEntityPersister persister(Class<?> entityClass) {
+        return (AbstractEntityPersister) entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(entityClass);
+    }
+
+    private boolean isExpired(TableStats stats) {
+        return stats.loadedAt().plus(properties.statisticsTtl()).isBefore(Instant.now());
+    }
+
+    private TableStats load(String table) {
+        log.debug("Loading table statistics for {}", table);
+        List<List<String>> indexes = jdbcTemplate.execute((ConnectionCallback<List<List<String>>>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String name = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+            return readIndexes(metaData, name);
+        });
+        return new TableStats(table, rowCount(table), indexes == null ? List.of() : indexes, Instant.now());
+    }
+
+    private static List<List<String>> readIndexes(DatabaseMetaData metaData, String table) throws SQLException {
+        Map<String, TreeMap<Short, String>> columnsByIndex = new LinkedHashMap<>();
+        try (ResultSet rs = metaData.getIndexInfo(null, null, table, false, true)) {
+            while (rs.next()) {
+                String index = rs.getString("INDEX_NAME");
+                String column = rs.getString("COLUMN_NAME");
+                if (index != null && column != null) {
+                    columnsByIndex.computeIfAbsent(index, k -> new TreeMap<>())
+                            .put(rs.getShort("ORDINAL_POSITION"), column.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        List<List<String>> indexes = new ArrayList<>();
+        columnsByIndex.values().forEach(columns -> indexes.add(List.copyOf(columns.values())));
+        return indexes;
+    }
+
+    private long rowCount(String table) {
+        try {
+            // H2 keeps a cheap estimate; avoids a full count on large tables
+            Long estimate = jdbcTemplate.queryForObject(
+                    "select ROW_COUNT_ESTIMATE from INFORMATION_SCHEMA.TABLES where upper(TABLE_NAME) = upper(?)",
+                    Long.class, table);
+            if (estimate != null) {
+                return estimate;
+            }
+        } catch (DataAccessException e) {
+            log.debug("Row count estimate not available for {}, falling back to count(*)", table, e);
+        }
+        Long count = jdbcTemplate.queryForObject("select count(*) from " + table, Long.class);
+        return count == null ? 0 : count;
+    }
+}
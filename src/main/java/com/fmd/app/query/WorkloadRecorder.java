@@ -0,0 +1,123 @@
+package com.fmd.app.query;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the normalised shapes of executed grid requests together with their latencies.
+ * <p>
+ * The recorder keeps one set of counters per {@link QueryShape}; recording is lock-free so it
+ * can stay enabled on the request path. The number of distinct shapes is bounded by
+ * {@link IndexAdvisorProperties#maxShapes()}; shapes seen after the limit is reached are dropped.
+ * </p>
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WorkloadRecorder {
+
+    private final IndexAdvisorProperties properties;
+
+    private final Map<QueryShape, ShapeStats> shapes = new ConcurrentHashMap<>();
+    private final Map<String, Class<?>> entities = new ConcurrentHashMap<>();
+
+    /**
+     * Aggregated latency statistics of one shape.
+     *
+     * @param shape         the request shape
+     * @param count         the number of executions
+     * @param meanLatencyMs the mean latency in milliseconds
+     * @param maxLatencyMs  the maximum latency in milliseconds
+     */
+    public record ShapeSummary(
+            QueryShape shape,
+            long count,
+            double meanLatencyMs,
+            double maxLatencyMs
+    ) {}
+
+    private static final class ShapeStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void add(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+    }
+
+    /**
+     * Records one execution of an admitted request.
+     *
+     * @param query   the admitted request
+     * @param latency the time it took to execute
+     */
+    public void record(GovernedQuery query, Duration latency) {
+        if (!properties.enabled()) {
+            return;
+        }
+        QueryShape shape = QueryShape.of(query);
+        ShapeStats stats = shapes.get(shape);
+        if (stats == null) {
+            if (shapes.size() >= properties.maxShapes()) {
+                log.debug("Workload recorder is full, dropping shape {}", shape);
+                return;
+            }
+            entities.putIfAbsent(shape.entity(), query.entityClass());
+            stats = shapes.computeIfAbsent(shape, key -> new ShapeStats());
+        }
+        stats.add(latency.toNanos());
+    }
+
+    /**
+     * Returns the recorded shapes, the most expensive (by total time) first.
+     *
+     * @return a snapshot of the recorded workload
+     */
+    public List<ShapeSummary> snapshot() {
+        return shapes.entrySet().stream()
+                .map(entry -> summarize(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingDouble((ShapeSummary s) -> s.count() * s.meanLatencyMs()).reversed())
+                .toList();
+    }
+
+    /**
+     * Resolves the entity class of a recorded shape.
+     *
+     * @param entity the simple entity name stored in the shape
+     * @return the entity class, if a shape for it was recorded
+     */
+    public Optional<Class<?>> entityClass(String entity) {
+        return Optional.ofNullable(entities.get(entity));
+    }
+
+    /**
+     * Discards all recorded shapes and the entity classes they referred to.
+     */
+    public void reset() {
+        shapes.clear();
+        entities.clear();
+    }
+
+    private static ShapeSummary summarize(QueryShape shape, ShapeStats stats) {
+        long count = stats.count.sum();
+        double mean = count == 0 ? 0 : stats.totalNanos.sum() / (double) count / 1_000_000;
+        return new ShapeSummary(shape, count, mean, stats.maxNanos.get() / 1_000_000.0);
+    }
+}
@@ -0,0 +1,180 @@
+package com.fmd.app.rank;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Order-statistic tree over {@code (value, id)} entries of one column.
+ * <p>
+ * Implemented as a treap whose nodes carry their subtree size, so inserting, removing, finding
+ * the rank of an entry and reading the entries at ranks {@code [from, from + count)} all take
+ * expected {@code O(log n)} time (plus {@code count} for the range). Entries are ordered by value
+ * with {@code null} first, matching the database's default null ordering for ascending sorts, and
+ * ties are broken by id so every entry has a unique, stable rank. Not thread safe; guarded by
+ * {@link SortRankIndex}.
+ * </p>
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+class RankTree {
+
+    private static final Comparator<String> VALUE_ORDER = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    private static final class Node {
+        final String value;
+        final long id;
+        final int priority;
+        Node left;
+        Node right;
+        int size = 1;
+
+        Node(String value, long id, int priority) {
+            this.value = value;
+            this.id = id;
+            this.priority = priority;
+        }
+    }
+
+    private final SplittableRandom random = new SplittableRandom();
+    private Node root;
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return the size
+     */
+    int size() {
+        return size(root);
+    }
+
+    /**
+     * Adds an entry; the entry must not be present.
+     *
+     * @param value the column value, may be {@code null}
+     * @param id    the row id
+     */
+    void insert(String value, long id) {
+        Node[] parts = split(root, value, id, false);
+        root = merge(merge(parts[0], new Node(value, id, random.nextInt())), parts[1]);
+    }
+
+    /**
+     * Removes an entry if present.
+     *
+     * @param value the column value the entry was inserted with
+     * @param id    the row id
+     */
+    void remove(String value, long id) {
+        Node[] lower = split(root, value, id, false);
+        Node[] upper = split(lower[1], value, id, true);
+        root = merge(lower[0], upper[1]);
+    }
+
+    /**
+     * Returns the number of entries ordered before {@code (value, id)}.
+     *
+     * @param value the column value
+     * @param id    the row id
+     * @return the rank the entry has or would have
+     */
+    int rank(String value, long id) {
+        int rank = 0;
+        Node node = root;
+        while (node != null) {
+            if (compare(value, id, node) <= 0) {
+                node = node.left;
+            } else {
+                rank += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Returns the ids of the entries at ranks {@code [from, to)}, in rank order.
+     *
+     * @param from the first rank, inclusive
+     * @param to   the last rank, exclusive
+     * @return the ids
+     */
+    List<Long> ids(int from, int to) {
+        List<Long> ids = new ArrayList<>(Math.max(0, to - from));
+        collect(root, 0, Math.max(0, from), Math.min(to, size()), ids);
+        return ids;
+    }
+
+    private static void collect(Node node, int offset, int from, int to, List<Long> ids) {
+        if (node == null || from >= to) {
+            return;
+        }
+        int nodeRank = offset + size(node.left);
+        if (from < nodeRank) {
+            collect(node.left, offset, from, to, ids);
+        }
+        if (from <= nodeRank && nodeRank < to) {
+            ids.add(node.id);
+        }
+        if (nodeRank + 1 < to) {
+            collect(node.right, nodeRank + 1, from, to, ids);
+        }
+    }
+
+    /**
+     * Splits a subtree into the entries before the key and the rest; with {@code inclusive} the
+     * key itself goes to the first part.
+     */
+    private static Node[] split(Node node, String value, long id, boolean inclusive) {
+        if (node == null) {
+            return new Node[2];
+        }
+        int cmp = compare(value, id, node);
+        if (cmp > 0 || (inclusive && cmp == 0)) {
+            Node[] parts = split(node.right, value, id, inclusive);
+            node.right = parts[0];
+            update(node);
+            parts[0] = node;
+            return parts;
+        }
+        Node[] parts = split(node.left, value, id, inclusive);
+        node.left = parts[1];
+        update(node);
+        parts[1] = node;
+        return parts;
+    }
+
+    /** Merges two subtrees where every entry of {@code left} orders before every entry of {@code right}. */
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static int compare(String value, long id, Node node) {
+        int cmp = VALUE_ORDER.compare(value, node.value);
+        return cmp != 0 ? cmp : Long.compare(id, node.id);
+    }
+
+    private static void update(Node node) {
+        node.size = size(node.left) + size(node.right) + 1;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+}
@@ -0,0 +1,222 @@
+package com.fmd.app.rank;
+
+import com.fmd.app.data.Person;
+import com.fmd.app.data.PersonChangeObserver;
+import com.fmd.app.data.PersonIndex;
+import com.fmd.app.data.PersonIndexLoader;
+import com.fmd.app.dto.FilterRow;
+import com.fmd.app.dto.PageSortRequest;
+import com.fmd.app.dto.PersonDTO;
+import com.fmd.app.query.MaintainedSortOrder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * In-memory, incrementally maintained sort order for each sortable person column.
+ * <p>
+ * Every column in {@link #SORT_COLUMNS} has a {@link RankTree} over {@code (value, id)}, filled
+ * by the {@link PersonIndexLoader} at start-up and kept up to date through
+ * {@link PersonChangeObserver} notifications. A page sorted by one of these columns is served
+ * by reading the ids at ranks {@code [offset, offset + pageSize)} and loading those rows by
+ * primary key, so the database neither sorts nor counts. This covers requests that
+ * </p>
+ * <ul>
+ *     <li>sort by exactly one of the columns, and</li>
+ *     <li>have no filter, or a single {@code equals} filter on the sort column, whose matches
+ *     form a contiguous rank range.</li>
+ * </ul>
+ * <p>
+ * All other requests use the regular query, ordered by {@link #queryOrder(Sort)}. Values are
+ * compared with {@link String#compareTo}, which is how H2 compares strings when no collation is
+ * set; ties are ordered by id.
+ * </p>
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Component
+public class SortRankIndex implements PersonIndex, MaintainedSortOrder {
+
+    private static final Map<String, Function<PersonDTO, String>> SORT_COLUMNS = Map.of(
+            "firstName", PersonDTO::firstName,
+            "lastName", PersonDTO::lastName,
+            "email", PersonDTO::email,
+            "phone", PersonDTO::phone,
+            "address", PersonDTO::address);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<String> columns = List.copyOf(SORT_COLUMNS.keySet());
+    private final Map<String, RankTree> trees = new HashMap<>();
+    private final Map<Long, String[]> rows = new HashMap<>();
+    private volatile boolean maintained;
+    private volatile boolean ready;
+
+    {
+        columns.forEach(column -> trees.put(column, new RankTree()));
+    }
+
+    /**
+     * Ids of a page read by rank.
+     *
+     * @param ids   the ids of the page rows, in the requested order
+     * @param total the number of rows matching the request
+     */
+    public record RankedPage(List<Long> ids, long total) {}
+
+    /**
+     * Returns the database order that matches the order served by the index: ties by id in the
+     * direction of the sort. {@code null} values come first in ascending and last in descending
+     * order, which is H2's default null ordering ({@code LOW}). Pages of the regular query must
+     * use this order, so that a request returns the same rows whether or not the index covers it.
+     *
+     * @param sort the requested sort order
+     * @return the sort order with the id tie-breaker
+     */
+    public static Sort queryOrder(Sort sort) {
+        if (sort.isUnsorted() || sort.getOrderFor("id") != null) {
+            return sort;
+        }
+        Sort.Direction last = Sort.Direction.ASC;
+        for (Sort.Order order : sort) {
+            last = order.getDirection();
+        }
+        return sort.and(Sort.by(last, "id"));
+    }
+
+    @Override
+    public void beforeLoad() {
+        maintained = true;
+    }
+
+    @Override
+    public void afterLoad() {
+        ready = true;
+        log.info("Sort rank index built with {} persons", size());
+    }
+
+    /**
+     * Returns the number of indexed persons.
+     *
+     * @return the number of persons
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rows.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onSaved(PersonDTO person) {
+        if (!maintained) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            String[] previous = rows.get(person.id());
+            String[] values = new String[columns.size()];
+            for (int i = 0; i < values.length; i++) {
+                String column = columns.get(i);
+                RankTree tree = trees.get(column);
+                values[i] = SORT_COLUMNS.get(column).apply(person);
+                if (previous != null) {
+                    tree.remove(previous[i], person.id());
+                }
+                tree.insert(values[i], person.id());
+            }
+            rows.put(person.id(), values);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onRemoved(Long id) {
+        if (!maintained) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            String[] previous = rows.remove(id);
+            if (previous != null) {
+                for (int i = 0; i < previous.length; i++) {
+                    trees.get(columns.get(i)).remove(previous[i], id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean covers(Class<?> entityClass, List<PageSortRequest.SortRequest> sortBy, List<FilterRow> filter) {
+        if (!ready || entityClass != Person.class || sortBy.size() != 1) {
+            return false;
+        }
+        String column = sortBy.get(0).sortBy();
+        if (!SORT_COLUMNS.containsKey(column)) {
+            return false;
+        }
+        return filter.isEmpty() || (filter.size() == 1
+                && column.equals(filter.get(0).column())
+                && "equals".equals(filter.get(0).operator()));
+    }
+
+    /**
+     * Reads the ids of a page by rank, if the request is covered by the index.
+     *
+     * @param request the admitted page and sort order
+     * @param filter  the effective filter rows
+     * @return the page ids and total, or empty if the request must use the regular query
+     */
+    public Optional<RankedPage> page(PageSortRequest request, List<FilterRow> filter) {
+        if (!covers(Person.class, request.sortBy(), filter)) {
+            return Optional.empty();
+        }
+        PageSortRequest.SortRequest sort = request.sortBy().get(0);
+        long skip = (long) request.offset() * request.pageSize();
+        lock.readLock().lock();
+        try {
+            RankTree tree = trees.get(sort.sortBy());
+            int low = 0;
+            int high = tree.size();
+            if (!filter.isEmpty()) {
+                String value = filter.get(0).value();
+                low = tree.rank(value, Long.MIN_VALUE);
+                high = tree.rank(value, Long.MAX_VALUE);
+            }
+            int total = high - low;
+            if (skip >= total) {
+                return Optional.of(new RankedPage(List.of(), total));
+            }
+            List<Long> ids;
+            if (sort.direction() == Sort.Direction.ASC) {
+                int from = low + (int) skip;
+                ids = tree.ids(from, Math.min(high, from + request.pageSize()));
+            } else {
+                // descending ranks count back from the end of the range
+                int to = high - (int) skip;
+                ids = new ArrayList<>(tree.ids(Math.max(low, to - request.pageSize()), to));
+                Collections.reverse(ids);
+            }
+            return Optional.of(new RankedPage(ids, total));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
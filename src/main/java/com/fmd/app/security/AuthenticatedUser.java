@@ -4,17 +4,28 @@ import com.fmd.app.data.User;
 import com.fmd.app.data.UserRepository;
 import com.vaadin.flow.spring.security.AuthenticationContext;
 
+import java.time.Instant;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Provides methods to retrieve the currently authenticated user and to log out.
  * This class uses the {@link AuthenticationContext} to access the current user's details.
+ * <p>
+ * The user is built from the principal rather than loaded as an entity, so the profile picture
+ * is never read with it; it is loaded separately with {@link #getProfilePicture()}. In the
+ * session mode the username and roles come from the session and only the display name is read.
+ * In the stateless mode they come from the signed token, and the display name is cached per
+ * username for the token lifetime, so repeated page loads do not query the database.
+ * </p>
  *
  * @author Shailesh Halor
  * @version 1.0
@@ -25,19 +36,54 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class AuthenticatedUser {
 
+    private static final int MAX_CACHED_NAMES = 10_000;
+
     private final UserRepository userRepository;
     private final AuthenticationContext authenticationContext;
+    private final UserDetailsServiceImpl userDetailsService;
+    private final StatelessAuthProperties statelessAuthProperties;
+
+    private final Map<String, CachedName> displayNames = new ConcurrentHashMap<>();
+
+    private record CachedName(String name, Instant expiresAt) {}
 
     /**
      * Retrieves the currently authenticated user.
+     * The returned user carries no profile picture.
      *
      * @return an {@link Optional} containing the {@link User} if authenticated, or empty if not.
      */
-    @Transactional
+    @Transactional(readOnly = true)
     public Optional<User> get() {
         log.debug("Retrieving authenticated user details.");
+        Optional<UserDetails> sessionUser = authenticationContext.getAuthenticatedUser(UserDetails.class);
+        if (sessionUser.isPresent()) {
+            return sessionUser.flatMap(this::userFromSession);
+        }
+        return authenticationContext.getAuthenticatedUser(Jwt.class).map(this::userFromToken);
+    }
+
+    /**
+     * Retrieves the profile picture of the currently authenticated user.
+     *
+     * @return an {@link Optional} containing the picture, or empty if not authenticated or none is set.
+     */
+    @Transactional(readOnly = true)
+    public Optional<byte[]> getProfilePicture() {
+        return getPrincipal().flatMap(userDetails -> userRepository.findProfilePictureByUsername(userDetails.getUsername()));
+    }
+
+    /**
+     * Retrieves the principal of the currently authenticated user without loading the user entity.
+     * In the session based mode the principal is kept in the session; in the stateless mode it is
+     * rebuilt from the username and roles carried by the signed token.
+     *
+     * @return an {@link Optional} containing the {@link UserDetails} if authenticated, or empty if not.
+     */
+    public Optional<UserDetails> getPrincipal() {
         return authenticationContext.getAuthenticatedUser(UserDetails.class)
-                .flatMap(userDetails -> userRepository.findByUsername(userDetails.getUsername()));
+                .or(() -> authenticationContext.getAuthenticatedUser(Jwt.class)
+                        .map(userDetailsService::loadUserFromToken));
     }
 
     /**
@@ -45,8 +91,36 @@ public class AuthenticatedUser {
      * This method uses the {@link AuthenticationContext} to perform the logout operation.
      */
     public void logout() {
-        log.info("Logging out user. {}", get().map(User::getUsername).orElse("Unknown user"));
+        log.atInfo().setMessage("Logging out user. {}")
+                .addArgument(() -> getPrincipal().map(UserDetails::getUsername).orElse("Unknown user"))
+                .log();
+        getPrincipal().map(UserDetails::getUsername).ifPresent(displayNames::remove);
         authenticationContext.logout();
     }
 
+    private Optional<User> userFromSession(UserDetails userDetails) {
+        return userRepository.findNameByUsername(userDetails.getUsername())
+                .map(name -> new User(userDetails.getUsername(), name, null,
+                        userDetailsService.loadRolesFromPrincipal(userDetails), null));
+    }
+
+    private User userFromToken(Jwt jwt) {
+        String username = jwt.getSubject();
+        return new User(username, displayName(username), null, userDetailsService.loadRolesFromToken(jwt), null);
+    }
+
+    private String displayName(String username) {
+        Instant now = Instant.now();
+        CachedName cached = displayNames.get(username);
+        if (cached != null && cached.expiresAt().isAfter(now)) {
+            return cached.name();
+        }
+        String name = userRepository.findNameByUsername(username).orElse(username);
+        if (displayNames.size() >= MAX_CACHED_NAMES) {
+            displayNames.clear();
+        }
+        displayNames.put(username, new CachedName(name, now.plus(statelessAuthProperties.expiresIn())));
+        return name;
+    }
+
 }
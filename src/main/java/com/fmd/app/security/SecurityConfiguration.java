@@ -1,14 +1,29 @@
 package com.fmd.app.security;
 
+import com.fmd.app.data.Role;
 import com.vaadin.flow.spring.security.VaadinWebSecurity;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer.FrameOptionsConfig;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jose.jws.JwsAlgorithms;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.util.Base64;
 
 /**
  * Security configuration for the application.
@@ -22,8 +37,11 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 @Slf4j
 @EnableWebSecurity
 @Configuration
+@RequiredArgsConstructor
 public class SecurityConfiguration extends VaadinWebSecurity {
 
+    private final StatelessAuthProperties statelessAuthProperties;
+
     /**
      * Bean for password encoding.
      * This method provides a BCryptPasswordEncoder bean for encoding passwords.
@@ -35,6 +53,33 @@ public class SecurityConfiguration extends VaadinWebSecurity {
         return new BCryptPasswordEncoder();
     }
 
+    /**
+     * Security for the actuator endpoints, ahead of the application's filter chain.
+     * <p>
+     * Health probes are public. All other endpoints are restricted to administrators, who
+     * authenticate with HTTP Basic on every request: no session is created or read, so
+     * operations tools can call {@code POST}/{@code DELETE} endpoints without a CSRF token and a
+     * browser's login cookie cannot be used to trigger them.
+     * </p>
+     *
+     * @param http the HttpSecurity object to configure security settings.
+     * @return the filter chain for {@code /actuator/**}
+     * @throws Exception if an error occurs during configuration.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorFilterChain(HttpSecurity http) throws Exception {
+        http.securityMatcher(EndpointRequest.toAnyEndpoint())
+                .authorizeHttpRequests(authorize -> authorize
+                        .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                        .anyRequest().hasRole(Role.ADMIN.name()))
+                .httpBasic(Customizer.withDefaults())
+                .csrf(AbstractHttpConfigurer::disable)
+                .securityContext(context -> context.securityContextRepository(new RequestAttributeSecurityContextRepository()))
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
+        return http.build();
+    }
+
     /**
      * Configures HTTP security for the application.
      * This method sets up authorization rules, frame options, and CSRF protection.
@@ -58,7 +103,31 @@ public class SecurityConfiguration extends VaadinWebSecurity {
         super.configure(http);
         // Set the login view for the application
         setLoginView(http, "/login");
+        if (statelessAuthProperties.enabled()) {
+            configureStatelessAuthentication(http);
+        }
         log.info("Security configuration completed.");
     }
 
+    /**
+     * Replaces the HTTP session with an HMAC-signed JWT cookie carrying the username and roles.
+     * Every instance configured with the same secret accepts the token, so requests can be
+     * balanced across instances without sticky sessions.
+     *
+     * @param http the HttpSecurity object to configure security settings.
+     * @throws Exception if an error occurs during configuration.
+     */
+    private void configureStatelessAuthentication(HttpSecurity http) throws Exception {
+        if (!StringUtils.hasText(statelessAuthProperties.secret())) {
+            throw new IllegalStateException("app.security.stateless.secret must be set when stateless authentication is enabled");
+        }
+        byte[] key = Base64.getDecoder().decode(statelessAuthProperties.secret());
+        if (key.length < 32) {
+            throw new IllegalStateException("app.security.stateless.secret must be at least 32 bytes for HS256");
+        }
+        log.info("Enabling stateless authentication with issuer {}", statelessAuthProperties.issuer());
+        setStatelessAuthentication(http, new SecretKeySpec(key, JwsAlgorithms.HS256),
+                statelessAuthProperties.issuer(), statelessAuthProperties.expiresIn().toSeconds());
+    }
+
 }
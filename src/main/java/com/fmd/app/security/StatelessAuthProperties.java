@@ -0,0 +1,30 @@
+package com.fmd.app.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the stateless (signed token) authentication mode.
+ * <p>
+ * Bound from the {@code app.security.stateless} prefix. When enabled, the authenticated
+ * principal is kept in an HMAC-signed JWT cookie instead of the HTTP session, so any
+ * instance sharing the same secret can serve any request.
+ * </p>
+ *
+ * @param enabled   whether stateless authentication replaces the HTTP session
+ * @param secret    the Base64 encoded HMAC-SHA256 key (at least 32 bytes), shared by all instances
+ * @param issuer    the issuer written to and expected in the token
+ * @param expiresIn how long an issued token stays valid
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@ConfigurationProperties(prefix = "app.security.stateless")
+public record StatelessAuthProperties(
+        @DefaultValue("false") boolean enabled,
+        String secret,
+        @DefaultValue("com.fmd.app") String issuer,
+        @DefaultValue("30m") Duration expiresIn
+) {}
@@ -1,8 +1,13 @@
 package com.fmd.app.security;
 
+import com.fmd.app.data.Role;
 import com.fmd.app.data.User;
 import com.fmd.app.data.UserRepository;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import lombok.RequiredArgsConstructor;
@@ -12,6 +17,7 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,6 +35,9 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class UserDetailsServiceImpl implements UserDetailsService {
 
+    private static final String ROLE_PREFIX = "ROLE_";
+    private static final String ROLES_CLAIM = "roles";
+
     private final UserRepository userRepository;
 
     /**
@@ -46,11 +55,66 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         log.debug("Loading user by username: {}", username);
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("No user present with username: " + username));
-        log.info("User found: {}", user.getUsername());
+        log.debug("User found: {}", user.getUsername());
         return new org.springframework.security.core.userdetails.User(user.getUsername(), user.getHashedPassword(),
                 getAuthorities(user));
     }
 
+    /**
+     * Builds user details from a verified stateless authentication token.
+     * The token already carries the username and roles, so no database lookup is needed.
+     * The returned details contain no password and are only meant to identify the principal.
+     *
+     * @param jwt the verified token
+     * @return UserDetails containing the username and authorities from the token
+     */
+    public UserDetails loadUserFromToken(Jwt jwt) {
+        log.debug("Resolving user from token: {}", jwt.getSubject());
+        List<GrantedAuthority> authorities = tokenRoles(jwt).stream()
+                .map(role -> role.startsWith(ROLE_PREFIX) ? role : ROLE_PREFIX + role)
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+        return new org.springframework.security.core.userdetails.User(jwt.getSubject(), "", authorities);
+    }
+
+    /**
+     * Reads the application roles carried by a verified stateless authentication token.
+     * Role names the application does not know are ignored.
+     *
+     * @param jwt the verified token
+     * @return the roles from the token
+     */
+    public Set<Role> loadRolesFromToken(Jwt jwt) {
+        return toRoles(tokenRoles(jwt));
+    }
+
+    /**
+     * Reads the application roles granted to an authenticated principal, e.g. the one kept in the
+     * session. Authorities the application does not know are ignored.
+     *
+     * @param userDetails the authenticated principal
+     * @return the roles of the principal
+     */
+    public Set<Role> loadRolesFromPrincipal(UserDetails userDetails) {
+        return toRoles(userDetails.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+    }
+
+    private static Set<Role> toRoles(List<String> names) {
+        Set<Role> roles = EnumSet.noneOf(Role.class);
+        for (String role : names) {
+            String name = role.startsWith(ROLE_PREFIX) ? role.substring(ROLE_PREFIX.length()) : role;
+            Arrays.stream(Role.values())
+                    .filter(candidate -> candidate.name().equals(name))
+                    .findFirst()
+                    .ifPresent(roles::add);
+        }
+        return roles;
+    }
+
+    private static List<String> tokenRoles(Jwt jwt) {
+        return Objects.requireNonNullElse(jwt.getClaimAsStringList(ROLES_CLAIM), List.of());
+    }
+
     /**
      * Converts a User object into a list of GrantedAuthority.
      * This method maps the user's roles to SimpleGrantedAuthority objects.
@@ -60,7 +124,7 @@ public class UserDetailsServiceImpl implements UserDetailsService {
      */
     private static List<GrantedAuthority> getAuthorities(User user) {
         log.debug("Getting authorities for user: {}", user.getUsername());
-        return user.getRoles().stream().map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+        return user.getRoles().stream().map(role -> new SimpleGrantedAuthority(ROLE_PREFIX + role))
                 .collect(Collectors.toList());
 
     }
@@ -0,0 +1,52 @@
+package com.fmd.app.services;
+
+import com.fmd.app.dto.FacetValue;
+import com.fmd.app.dto.FilterRow;
+import com.fmd.app.facet.Facet;
+import com.fmd.app.facet.FacetIndex;
+import com.fmd.app.tiering.PersonTier;
+import com.vaadin.flow.server.auth.AnonymousAllowed;
+import com.vaadin.hilla.BrowserCallable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+/**
+ * Endpoint for exploring the values present in person columns.
+ * Serves the value suggestions of the filter dialog from the in-memory {@link FacetIndex}.
+ * The index covers the active tier only, so no counts are returned when the filters select the
+ * archived persons or all persons, nor while the index is not loaded (see
+ * {@code app.person-indexes.enabled}); the dialog then offers no suggestions instead of wrong counts.
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@BrowserCallable
+@AnonymousAllowed
+@RequiredArgsConstructor
+public class FacetEndpoint {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final FacetIndex facetIndex;
+
+    /**
+     * Retrieves the most frequent values of a facet among the persons matching the filters.
+     *
+     * @param facet  the facet to count
+     * @param filter the currently applied filter rows
+     * @param limit  the maximum number of values to return (at most 100)
+     * @return the values with their counts, the most frequent first, or no values if the filters
+     * select a tier other than the active one
+     */
+    public List<FacetValue> getFacet(Facet facet, List<FilterRow> filter, int limit) {
+        log.debug("Fetching facet {} with filter: {}", facet, filter);
+        if (PersonTier.of(filter) != PersonTier.ACTIVE) {
+            return List.of();
+        }
+        return facetIndex.top(facet, PersonTier.withoutTier(filter), Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+}
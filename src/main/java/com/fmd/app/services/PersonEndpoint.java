@@ -1,6 +1,10 @@
 package com.fmd.app.services;
 
 import com.fmd.app.data.Person;
+import com.fmd.app.data.PersonAnyTier;
+import com.fmd.app.data.PersonAnyTierRepository;
+import com.fmd.app.data.PersonArchive;
+import com.fmd.app.data.PersonArchiveRepository;
 import com.fmd.app.data.PersonRepository;
 import com.fmd.app.dto.FilterRow;
 import com.fmd.app.dto.PageResponse;
@@ -8,6 +12,13 @@ import com.fmd.app.dto.PageSortRequest;
 import com.fmd.app.dto.PersonDTO;
 import com.fmd.app.dto.mapper.PageMapper;
 import com.fmd.app.dto.mapper.PersonMapper;
+import com.fmd.app.email.EmailRegistry;
+import com.fmd.app.profiling.StageProfiler;
+import com.fmd.app.query.GovernedQuery;
+import com.fmd.app.query.QueryGovernor;
+import com.fmd.app.query.QueryShape;
+import com.fmd.app.rank.SortRankIndex;
+import com.fmd.app.tiering.PersonTier;
 import com.fmd.app.utils.FilterSpecificationUtil;
 import com.vaadin.flow.server.auth.AnonymousAllowed;
 import com.vaadin.hilla.BrowserCallable;
@@ -15,8 +26,14 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.jpa.domain.Specification;
 
@@ -34,19 +51,125 @@ import org.springframework.data.jpa.domain.Specification;
 @RequiredArgsConstructor
 public class PersonEndpoint {
 
+    private static final String GET_PERSONS = "PersonEndpoint.getPersons";
+
     private final PersonRepository repository;
+    private final PersonArchiveRepository archiveRepository;
+    private final PersonAnyTierRepository anyTierRepository;
     private final PageMapper pageMapper;
     private final PersonMapper personMapper;
+    private final QueryGovernor queryGovernor;
+    private final SortRankIndex sortRankIndex;
+    private final EmailRegistry emailRegistry;
+    private final StageProfiler stageProfiler;
 
+    /**
+     * Retrieves a page of persons matching the given filters.
+     * The request is checked by the {@link QueryGovernor} first, so oversized pages are capped
+     * and requests exceeding the cost budget are rejected before they reach the database.
+     * Pages sorted by a single column are read by rank from the {@link SortRankIndex} when it
+     * covers the request. Only active persons are returned unless a {@code tier} filter row
+     * selects the archived persons or all persons (see {@link PersonTier}).
+     *
+     * @param pageSortRequest the requested page and sort order
+     * @param filter          the filter rows to apply
+     * @return a page of person DTOs with pagination metadata
+     */
     public PageResponse<PersonDTO> getPersons(PageSortRequest pageSortRequest, List<FilterRow> filter) {
         log.debug("Fetching paginated metadata with request: {} and filter: {}", pageSortRequest, filter);
-        PageRequest pageRequest = pageMapper.toPageRequest(pageSortRequest);
-        Specification<Person> spec = FilterSpecificationUtil.buildSpecification(filter);
-        log.info("PageRequest: {}, Specification: {}", pageRequest, spec);
-        Page<Person> personPage = repository.findAll(spec, pageRequest);
-        // Map to DTOs
-        Page<PersonDTO> dtoPage = personPage.map(personMapper::toDto);
-        return pageMapper.toPageResponse(dtoPage);
+        PersonTier tier = PersonTier.of(filter);
+        List<FilterRow> columnFilter = PersonTier.withoutTier(filter);
+        return switch (tier) {
+            case ACTIVE -> {
+                GovernedQuery query = govern(Person.class, pageSortRequest, columnFilter);
+                yield fetch(query, tier, () -> sortRankIndex.page(query.pageSortRequest(), query.filter())
+                        .flatMap(page -> loadRanked(page, pageRequest(query)))
+                        .orElseGet(() -> repository.findAll(spec(query), pageRequest(query))), personMapper::toDto);
+            }
+            case ARCHIVED -> {
+                GovernedQuery query = govern(PersonArchive.class, pageSortRequest, columnFilter);
+                yield fetch(query, tier, () -> archiveRepository.findAll(spec(query), pageRequest(query)), personMapper::toDto);
+            }
+            case ALL -> {
+                // The view has no table statistics; the archive dominates the size of the union
+                GovernedQuery query = govern(PersonAnyTier.class, PersonArchive.class, pageSortRequest, columnFilter);
+                yield fetch(query, tier, () -> anyTierRepository.findAll(spec(query), pageRequest(query)), personMapper::toDto);
+            }
+        };
+    }
+
+    /**
+     * Checks whether no active or archived person uses an email, ignoring case and surrounding spaces.
+     * Most new emails are answered from memory without a database round trip.
+     *
+     * @param email the email to check
+     * @return {@code true} if the email is available
+     */
+    public boolean isEmailAvailable(String email) {
+        return emailRegistry.isAvailable(email);
+    }
+
+    /**
+     * Returns the emails of a batch, e.g. a bulk import, that are already in use.
+     *
+     * @param emails the emails to check
+     * @return the normalised (lower case, trimmed) emails that are in use
+     */
+    public List<String> getTakenEmails(List<String> emails) {
+        return emails == null ? List.of() : List.copyOf(emailRegistry.findTaken(emails));
+    }
+
+    private GovernedQuery govern(Class<?> entityClass, PageSortRequest pageSortRequest, List<FilterRow> filter) {
+        return govern(entityClass, entityClass, pageSortRequest, filter);
+    }
+
+    private GovernedQuery govern(Class<?> entityClass, Class<?> statisticsClass, PageSortRequest pageSortRequest,
+                                 List<FilterRow> filter) {
+        return stageProfiler.stage(GET_PERSONS, "govern", entityClass::getSimpleName,
+                () -> queryGovernor.govern(entityClass, statisticsClass, pageSortRequest, filter), query -> 0);
+    }
+
+    /**
+     * Runs the query and the DTO mapping as separately profiled stages inside the governed transaction.
+     */
+    private <E> PageResponse<PersonDTO> fetch(GovernedQuery query, PersonTier tier, Supplier<Page<E>> finder,
+                                              Function<E, PersonDTO> mapper) {
+        Supplier<QueryShape> shape = () -> QueryShape.of(query);
+        log.atDebug().setMessage("Tier: {}, page: {}, filter shape: {}")
+                .addArgument(tier)
+                .addArgument(query::pageSortRequest)
+                .addArgument(shape)
+                .log();
+        return queryGovernor.execute(query, () -> {
+            Page<E> page = stageProfiler.stage(GET_PERSONS, "query", shape, finder, Page::getNumberOfElements);
+            return stageProfiler.stage(GET_PERSONS, "map", shape, () -> pageMapper.toPageResponse(page.map(mapper)),
+                    response -> response.content().size());
+        });
+    }
+
+    /**
+     * Loads the rows of a page read from the {@link SortRankIndex}. The index is updated after
+     * commit, so if a row is already gone the page is treated as stale and the regular query runs.
+     */
+    private Optional<Page<Person>> loadRanked(SortRankIndex.RankedPage page, PageRequest pageRequest) {
+        Map<Long, Person> byId = repository.findAllById(page.ids()).stream()
+                .collect(Collectors.toMap(Person::getId, Function.identity()));
+        if (byId.size() != page.ids().size()) {
+            log.debug("Sort rank index page is stale, falling back to the query");
+            return Optional.empty();
+        }
+        List<Person> content = page.ids().stream().map(byId::get).toList();
+        return Optional.of(new PageImpl<>(content, pageRequest, page.total()));
+    }
+
+    private PageRequest pageRequest(GovernedQuery query) {
+        PageRequest pageRequest = pageMapper.toPageRequest(query.pageSortRequest());
+        return pageRequest.withSort(SortRankIndex.queryOrder(pageRequest.getSort()));
+    }
+
+    private <T> Specification<T> spec(GovernedQuery query) {
+        return stageProfiler.specification(GET_PERSONS, () -> QueryShape.of(query),
+                FilterSpecificationUtil.buildSpecification(query.filter()));
     }
 
 }
@@ -33,4 +33,14 @@ public class UserEndpoint {
     public Optional<User> getAuthenticatedUser() {
         return authenticatedUser.get();
     }
+
+    /**
+     * Retrieves the profile picture of the authenticated user. Loaded separately so that
+     * resolving the user itself does not read the picture.
+     *
+     * @return an Optional containing the picture if authenticated and set, or empty otherwise
+     */
+    public Optional<byte[]> getProfilePicture() {
+        return authenticatedUser.getProfilePicture();
+    }
 }
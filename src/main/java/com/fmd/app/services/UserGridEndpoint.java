@@ -0,0 +1,47 @@
+package com.fmd.app.services;
+
+import com.fmd.app.data.User;
+import com.fmd.app.dto.FilterRow;
+import com.fmd.app.dto.PageResponse;
+import com.fmd.app.dto.PageSortRequest;
+import com.fmd.app.dto.UserGridRow;
+import com.fmd.app.query.GridDefinition;
+import com.fmd.app.query.GridQueryEngine;
+import com.vaadin.hilla.BrowserCallable;
+import jakarta.annotation.security.RolesAllowed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+/**
+ * Endpoint for the user administration grid.
+ * Serves pages of users through the {@link GridQueryEngine}, selecting only the grid columns.
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@BrowserCallable
+@RolesAllowed("ADMIN")
+@RequiredArgsConstructor
+public class UserGridEndpoint {
+
+    private static final GridDefinition<User, UserGridRow> USER_GRID =
+            GridDefinition.of(User.class, UserGridRow.class, "id", "username", "name");
+
+    private final GridQueryEngine gridQueryEngine;
+
+    /**
+     * Retrieves a page of users matching the given filters.
+     *
+     * @param pageSortRequest the requested page and sort order
+     * @param filter          the filter rows to apply
+     * @return a page of user rows with pagination metadata
+     */
+    public PageResponse<UserGridRow> getUsers(PageSortRequest pageSortRequest, List<FilterRow> filter) {
+        log.debug("Fetching users with request: {} and filter: {}", pageSortRequest, filter);
+        return gridQueryEngine.query(USER_GRID, pageSortRequest, filter);
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service for managing users.
@@ -32,6 +33,7 @@ public class UserService {
      * @param id the ID of the user
      * @return an Optional containing the user if found, or empty if not found
      */
+    @Transactional(readOnly = true)
     public Optional<User> get(Long id) {
         return repository.findById(id);
     }
@@ -61,6 +63,7 @@ public class UserService {
      * @param pageable the pagination information
      * @return a page of users
      */
+    @Transactional(readOnly = true)
     public Page<User> list(Pageable pageable) {
         return repository.findAll(pageable);
     }
@@ -72,6 +75,7 @@ public class UserService {
      * @param filter   the specification for filtering users
      * @return a page of users matching the filter
      */
+    @Transactional(readOnly = true)
     public Page<User> list(Pageable pageable, Specification<User> filter) {
         return repository.findAll(filter, pageable);
     }
@@ -81,6 +85,7 @@ public class UserService {
      *
      * @return the total count of users
      */
+    @Transactional(readOnly = true)
     public int count() {
         return (int) repository.count();
     }
@@ -0,0 +1,87 @@
+package com.fmd.app.startup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the time from JVM start until the application is ready and until the first
+ * application call has been served.
+ * <p>
+ * Only successful Hilla endpoint calls ({@code /connect/**}) count as the first request: health
+ * probes, which usually arrive first and may be answered with {@code 503}, static resources and
+ * failed calls do not mark the application as serving.
+ * </p>
+ * <p>
+ * Both values are logged once and published as the {@code app.startup.ready} and
+ * {@code app.startup.first.request} time gauges, so start-up optimisations (AOT, CDS, data
+ * seeding) can be compared across runs. After the first call the filter is skipped with a
+ * single atomic read per request.
+ * </p>
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StartupTimingFilter extends OncePerRequestFilter {
+
+    private static final String ENDPOINT_PREFIX = "/connect/";
+
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong readyMillis = new AtomicLong(-1);
+    private final AtomicLong firstRequestMillis = new AtomicLong(-1);
+
+    /**
+     * Records the time to readiness.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        readyMillis.set(ManagementFactory.getRuntimeMXBean().getUptime());
+        TimeGauge.builder("app.startup.ready", readyMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Time from JVM start until the application was ready")
+                .register(meterRegistry);
+        log.info("Time to ready: {} ms since JVM start", readyMillis.get());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return firstRequestMillis.get() >= 0
+                || !request.getRequestURI().startsWith(request.getContextPath() + ENDPOINT_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        filterChain.doFilter(request, response);
+        if (isSuccessful(response) && firstRequestMillis.get() < 0
+                && firstRequestMillis.compareAndSet(-1, ManagementFactory.getRuntimeMXBean().getUptime())) {
+            TimeGauge.builder("app.startup.first.request", firstRequestMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                    .description("Time from JVM start until the first application call was served")
+                    .register(meterRegistry);
+            log.info("Time to first request: {} ms since JVM start ({})",
+                    firstRequestMillis.get(), request.getRequestURI());
+        }
+    }
+
+    private static boolean isSuccessful(HttpServletResponse response) {
+        return response.getStatus() >= 200 && response.getStatus() < 300;
+    }
+}
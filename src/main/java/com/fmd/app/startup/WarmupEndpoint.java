@@ -0,0 +1,31 @@
+package com.fmd.app.startup;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint exposing the report of the start-up warm-up at {@code GET /actuator/warmup}.
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+@Endpoint(id = "warmup")
+@RequiredArgsConstructor
+public class WarmupEndpoint {
+
+    private final WarmupRunner warmupRunner;
+
+    /**
+     * Returns the warm-up report.
+     *
+     * @return the report, or {@code null} if the warm-up is disabled or has not finished
+     */
+    @ReadOperation
+    public WarmupReport report() {
+        return warmupRunner.getReport();
+    }
+}
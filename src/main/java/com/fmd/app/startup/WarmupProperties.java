@@ -0,0 +1,26 @@
+package com.fmd.app.startup;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the start-up {@link WarmupRunner}.
+ * <p>
+ * Bound from the {@code app.warmup} prefix.
+ * </p>
+ *
+ * @param enabled       whether synthetic workloads run before the application reports ready
+ * @param timeBudget    the maximum time spent warming up
+ * @param maxIterations the maximum number of rounds over all workloads
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@ConfigurationProperties(prefix = "app.warmup")
+public record WarmupProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("15s") Duration timeBudget,
+        @DefaultValue("200") int maxIterations
+) {}
@@ -0,0 +1,42 @@
+package com.fmd.app.startup;
+
+import java.util.List;
+
+/**
+ * Result of the start-up warm-up.
+ *
+ * @param completed      whether every round ran all workloads without an exception and within the
+ *                       time budget
+ * @param durationMs     the time spent warming up in milliseconds
+ * @param iterations     the number of rounds that ran all workloads
+ * @param failedWorkload the workload whose exception ended the warm-up, or {@code null}
+ * @param workloads      the per-workload results
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+public record WarmupReport(
+        boolean completed,
+        long durationMs,
+        int iterations,
+        String failedWorkload,
+        List<WorkloadResult> workloads
+) {
+
+    /**
+     * Latency of one synthetic workload at the start and at the end of the warm-up.
+     *
+     * @param name     the workload name
+     * @param runs     the number of executions
+     * @param firstMs  the latency of the first, cold execution in milliseconds
+     * @param steadyMs the median latency of the last tenth of the executions in milliseconds
+     * @param savedMs  the latency the first real request is spared, {@code firstMs - steadyMs}
+     */
+    public record WorkloadResult(
+            String name,
+            int runs,
+            double firstMs,
+            double steadyMs,
+            double savedMs
+    ) {}
+}
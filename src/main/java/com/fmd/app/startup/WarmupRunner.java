@@ -0,0 +1,205 @@
+package com.fmd.app.startup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fmd.app.data.Person;
+import com.fmd.app.data.PersonIndexLoader;
+import com.fmd.app.dto.FilterRow;
+import com.fmd.app.dto.PageResponse;
+import com.fmd.app.dto.PageSortRequest;
+import com.fmd.app.dto.PersonDTO;
+import com.fmd.app.dto.mapper.PageMapper;
+import com.fmd.app.dto.mapper.PersonMapper;
+import com.fmd.app.query.WorkloadRecorder;
+import com.fmd.app.services.PersonEndpoint;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.data.domain.Sort.Direction.ASC;
+import static org.springframework.data.domain.Sort.Direction.DESC;
+
+/**
+ * Runs representative synthetic workloads at start-up, before the application reports ready.
+ * <p>
+ * Application runners complete before Spring Boot publishes the {@code ACCEPTING_TRAFFIC}
+ * readiness state, so {@code /actuator/health/readiness} stays {@code OUT_OF_SERVICE} while the
+ * warm-up runs. The warm-up runs after the {@link PersonIndexLoader}, the first runner, so the
+ * grid requests also warm the paths served from the in-memory indexes. The warm-up fills the connection pools once and then repeats rounds of common
+ * grid requests (which exercise Hibernate's query plans, the specification builder and the
+ * mappers), mapper and Jackson round-trips and a BCrypt verification until the iteration limit
+ * is reached. The time budget is checked before every workload, so a slow round stops part-way.
+ * A failing workload ends the warm-up; it is logged, named in the report and never prevents the
+ * start-up.
+ * The workload recorder is reset afterwards, so synthetic requests do not influence the index advisor.
+ * </p>
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final List<PageSortRequest> PAGE_REQUESTS = List.of(
+            new PageSortRequest(0, 10, null),
+            new PageSortRequest(0, 25, List.of(new PageSortRequest.SortRequest("lastName", ASC))),
+            new PageSortRequest(1, 10, List.of(new PageSortRequest.SortRequest("email", DESC))),
+            new PageSortRequest(0, 10, List.of(
+                    new PageSortRequest.SortRequest("lastName", ASC),
+                    new PageSortRequest.SortRequest("firstName", ASC))));
+
+    private static final List<List<FilterRow>> FILTERS = List.of(
+            List.of(),
+            List.of(new FilterRow("lastName", "contains", "a")),
+            List.of(new FilterRow("firstName", "startsWith", "j")),
+            List.of(new FilterRow("email", "endsWith", ".com"), new FilterRow("lastName", "equals", "Doe")));
+
+    private final WarmupProperties properties;
+    private final PersonEndpoint personEndpoint;
+    private final PersonMapper personMapper;
+    private final PageMapper pageMapper;
+    private final ObjectMapper objectMapper;
+    private final PasswordEncoder passwordEncoder;
+    private final WorkloadRecorder workloadRecorder;
+    private final ApplicationContext applicationContext;
+
+    private volatile WarmupReport report;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.enabled()) {
+            return;
+        }
+        long start = System.nanoTime();
+        long deadline = start + properties.timeBudget().toNanos();
+        primeConnectionPools();
+
+        String hash = passwordEncoder.encode("warm-up");
+        Map<String, Runnable> workloads = new LinkedHashMap<>();
+        for (int i = 0; i < PAGE_REQUESTS.size(); i++) {
+            PageSortRequest request = PAGE_REQUESTS.get(i);
+            List<FilterRow> filter = FILTERS.get(i);
+            workloads.put("getPersons#" + i, () -> personEndpoint.getPersons(request, filter));
+        }
+        workloads.put("mapper round-trip", this::mapperRoundTrip);
+        workloads.put("bcrypt verification", () -> passwordEncoder.matches("warm-up", hash));
+
+        Map<String, List<Long>> latencies = new LinkedHashMap<>();
+        workloads.keySet().forEach(name -> latencies.put(name, new ArrayList<>()));
+        int iterations = 0;
+        String failedWorkload = null;
+        boolean outOfTime = false;
+        rounds:
+        while (iterations < properties.maxIterations()) {
+            for (Map.Entry<String, Runnable> workload : workloads.entrySet()) {
+                if (System.nanoTime() >= deadline) {
+                    outOfTime = true;
+                    break rounds;
+                }
+                long begin = System.nanoTime();
+                try {
+                    workload.getValue().run();
+                } catch (RuntimeException e) {
+                    log.warn("Warm-up workload '{}' failed, skipping the remaining warm-up", workload.getKey(), e);
+                    failedWorkload = workload.getKey();
+                    break rounds;
+                }
+                latencies.get(workload.getKey()).add(System.nanoTime() - begin);
+            }
+            iterations++;
+        }
+        workloadRecorder.reset();
+
+        long duration = (System.nanoTime() - start) / 1_000_000;
+        report = new WarmupReport(failedWorkload == null && !outOfTime, duration, iterations, failedWorkload,
+                latencies.entrySet().stream()
+                        .filter(entry -> !entry.getValue().isEmpty())
+                        .map(entry -> summarize(entry.getKey(), entry.getValue()))
+                        .toList());
+        log.info("Warm-up {} in {} ms after {} rounds", failedWorkload != null ? "failed"
+                : outOfTime ? "ran out of time" : "completed", duration, iterations);
+        report.workloads().forEach(result -> log.info("Warm-up {}: first {} ms, steady {} ms, saved {} ms",
+                result.name(), round(result.firstMs()), round(result.steadyMs()), round(result.savedMs())));
+    }
+
+    /**
+     * Returns the report of the last warm-up.
+     *
+     * @return the report, or {@code null} if the warm-up is disabled or has not finished
+     */
+    public WarmupReport getReport() {
+        return report;
+    }
+
+    private void mapperRoundTrip() {
+        Person person = new Person("Warm", "Up", "warm.up@example.com", "+1-555-0000", "1 Main St, Anytown, USA");
+        List<PersonDTO> content = List.of(personMapper.toDto(person));
+        PageRequest pageRequest = pageMapper.toPageRequest(PAGE_REQUESTS.get(1));
+        PageResponse<PersonDTO> response = pageMapper.toPageResponse(new PageImpl<>(content, pageRequest, 1));
+        try {
+            objectMapper.readTree(objectMapper.writeValueAsString(response));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Borrow as many connections as each pool keeps idle, so the pools are full before traffic arrives
+    private void primeConnectionPools() {
+        for (HikariDataSource pool : applicationContext.getBeansOfType(HikariDataSource.class).values()) {
+            int size = Math.min(pool.getMaximumPoolSize(), Math.max(1, pool.getMinimumIdle()));
+            List<Connection> connections = new ArrayList<>(size);
+            try {
+                for (int i = 0; i < size; i++) {
+                    connections.add(pool.getConnection());
+                }
+            } catch (SQLException e) {
+                log.warn("Could not prime connection pool {}", pool.getPoolName(), e);
+            } finally {
+                connections.forEach(WarmupRunner::closeQuietly);
+            }
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Failed to return warm-up connection", e);
+        }
+    }
+
+    private static WarmupReport.WorkloadResult summarize(String name, List<Long> nanos) {
+        double first = nanos.get(0) / 1_000_000.0;
+        long[] tail = nanos.subList(nanos.size() - Math.max(1, nanos.size() / 10), nanos.size()).stream()
+                .mapToLong(Long::longValue)
+                .sorted()
+                .toArray();
+        double steady = tail[tail.length / 2] / 1_000_000.0;
+        return new WarmupReport.WorkloadResult(name, nanos.size(), first, steady, Math.max(0, first - steady));
+    }
+
+    private static double round(double millis) {
+        return Math.round(millis * 100) / 100.0;
+    }
+}
@@ -0,0 +1,123 @@
+package com.fmd.app.storage;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Takes periodic online snapshots of the file-backed H2 database.
+ * <p>
+ * Uses H2's {@code BACKUP TO} command, which writes a consistent, zip compressed copy of the
+ * MVStore file while the database stays online. Snapshot names sort chronologically, so the
+ * newest one is the last in name order; only the configured number of snapshots is kept.
+ * </p>
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.storage.snapshot", name = "enabled", havingValue = "true")
+public class H2SnapshotService {
+
+    static final String SNAPSHOT_SUFFIX = ".zip";
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StorageProperties properties;
+
+    /**
+     * Writes a new snapshot and deletes the snapshots exceeding the retention.
+     *
+     * @return the written snapshot
+     */
+    @Scheduled(fixedDelayString = "${app.storage.snapshot.interval:1h}",
+            initialDelayString = "${app.storage.snapshot.interval:1h}")
+    public Path snapshot() {
+        Path directory = properties.snapshot().directory();
+        Path target = directory.resolve(properties.databaseName() + "-" + LocalDateTime.now().format(TIMESTAMP)
+                + SNAPSHOT_SUFFIX).toAbsolutePath();
+        long start = System.nanoTime();
+        try {
+            Files.createDirectories(directory);
+            jdbcTemplate.execute("backup to '" + target.toString().replace('\\', '/') + "'");
+            log.info("Wrote snapshot {} ({} bytes) in {} ms", target, Files.size(target),
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        prune();
+        return target;
+    }
+
+    /**
+     * Lists the available snapshots, the newest first.
+     *
+     * @return the snapshot files
+     */
+    public List<Path> list() {
+        return listSnapshots(properties.snapshot().directory(), properties.databaseName());
+    }
+
+    /**
+     * Lists the snapshots of a database in a directory, the newest first.
+     *
+     * @param directory    the snapshot directory
+     * @param databaseName the database name the snapshots were taken of
+     * @return the snapshot files
+     */
+    static List<Path> listSnapshots(Path directory, String databaseName) {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(file -> file.getFileName().toString().startsWith(databaseName + "-"))
+                    .filter(file -> file.getFileName().toString().endsWith(SNAPSHOT_SUFFIX))
+                    .sorted(Comparator.comparing((Path file) -> file.getFileName().toString()).reversed())
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the newest snapshot of a database.
+     *
+     * @param directory    the snapshot directory
+     * @param databaseName the database name the snapshots were taken of
+     * @return the newest snapshot, if any
+     */
+    static Optional<Path> latestSnapshot(Path directory, String databaseName) {
+        return listSnapshots(directory, databaseName).stream().findFirst();
+    }
+
+    private void prune() {
+        List<Path> snapshots = list();
+        for (Path old : snapshots.subList(Math.min(snapshots.size(), Math.max(1, properties.snapshot().retain())),
+                snapshots.size())) {
+            try {
+                Files.deleteIfExists(old);
+                log.debug("Deleted old snapshot {}", old);
+            } catch (IOException e) {
+                log.warn("Could not delete old snapshot {}", old, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.fmd.app.storage;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Actuator endpoint for the H2 snapshots.
+ * <ul>
+ *     <li>{@code GET /actuator/snapshots} lists the available snapshots, the newest first</li>
+ *     <li>{@code POST /actuator/snapshots} takes a snapshot now</li>
+ * </ul>
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+@Endpoint(id = "snapshots")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.storage.snapshot", name = "enabled", havingValue = "true")
+public class SnapshotEndpoint {
+
+    private final H2SnapshotService snapshotService;
+
+    /**
+     * Lists the available snapshots.
+     *
+     * @return the snapshot file names, the newest first
+     */
+    @ReadOperation
+    public List<String> snapshots() {
+        return snapshotService.list().stream().map(path -> path.getFileName().toString()).toList();
+    }
+
+    /**
+     * Takes a snapshot.
+     *
+     * @return the file name of the new snapshot
+     */
+    @WriteOperation
+    public String snapshot() {
+        Path snapshot = snapshotService.snapshot();
+        return snapshot.getFileName().toString();
+    }
+}
@@ -0,0 +1,72 @@
+package com.fmd.app.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Restores the newest H2 snapshot before the datasource is created, if the database file is missing.
+ * <p>
+ * Registered in {@code META-INF/spring.factories} so it runs as soon as the environment is
+ * prepared, before any bean (and therefore any connection) exists. Only acts for
+ * {@code jdbc:h2:file:} URLs with {@code app.storage.snapshot.restore-on-startup} enabled.
+ * A snapshot is the zip archive written by H2's {@code BACKUP TO}, so restoring it means
+ * extracting the MVStore file into the database directory; no SQL is replayed.
+ * </p>
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+public class SnapshotRestoreListener implements ApplicationListener<ApplicationEnvironmentPreparedEvent> {
+
+    @Override
+    public void onApplicationEvent(ApplicationEnvironmentPreparedEvent event) {
+        ConfigurableEnvironment environment = event.getEnvironment();
+        String url = environment.getProperty("spring.datasource.url", "");
+        if (!url.startsWith("jdbc:h2:file:")) {
+            return;
+        }
+        StorageProperties properties = Binder.get(environment)
+                .bindOrCreate("app.storage", StorageProperties.class);
+        if (!properties.snapshot().restoreOnStartup() || Files.exists(properties.databaseFile())) {
+            return;
+        }
+        H2SnapshotService.latestSnapshot(properties.snapshot().directory(), properties.databaseName())
+                .ifPresent(snapshot -> restore(snapshot, properties.directory()));
+    }
+
+    private static void restore(Path snapshot, Path directory) {
+        long start = System.nanoTime();
+        Path root = directory.toAbsolutePath().normalize();
+        try (ZipInputStream zip = new ZipInputStream(Files.newInputStream(snapshot))) {
+            Files.createDirectories(root);
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                Path target = root.resolve(entry.getName()).normalize();
+                if (!target.startsWith(root)) {
+                    throw new IOException("Snapshot entry outside of the database directory: " + entry.getName());
+                }
+                if (entry.isDirectory()) {
+                    Files.createDirectories(target);
+                } else {
+                    Files.createDirectories(target.getParent());
+                    Files.copy(zip, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to restore snapshot " + snapshot, e);
+        }
+        log.info("Restored snapshot {} into {} in {} ms", snapshot, root, (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,55 @@
+package com.fmd.app.storage;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuration properties for the file-backed H2 storage mode.
+ * <p>
+ * Bound from the {@code app.storage} prefix; used by the {@code file} profile, whose
+ * datasource URL is built from the directory and database name.
+ * </p>
+ *
+ * @param directory    the directory holding the H2 database file
+ * @param databaseName the database name, i.e. the file name without {@code .mv.db}
+ * @param snapshot     the snapshot (online backup) settings
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@ConfigurationProperties(prefix = "app.storage")
+public record StorageProperties(
+        @DefaultValue("./data") Path directory,
+        @DefaultValue("fmd") String databaseName,
+        @DefaultValue Snapshot snapshot
+) {
+
+    /**
+     * Snapshot settings.
+     *
+     * @param enabled          whether snapshots are taken periodically
+     * @param directory        the directory the snapshot archives are written to
+     * @param interval         the time between two snapshots
+     * @param retain           the number of snapshots kept; older ones are deleted
+     * @param restoreOnStartup whether the latest snapshot is restored when the database file is missing
+     */
+    public record Snapshot(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("./data/snapshots") Path directory,
+            @DefaultValue("1h") Duration interval,
+            @DefaultValue("3") int retain,
+            @DefaultValue("true") boolean restoreOnStartup
+    ) {}
+
+    /**
+     * Returns the path of the H2 database file.
+     *
+     * @return the {@code .mv.db} file
+     */
+    public Path databaseFile() {
+        return directory.resolve(databaseName + ".mv.db");
+    }
+}
@@ -0,0 +1,69 @@
+package com.fmd.app.tiering;
+
+import com.fmd.app.dto.FilterRow;
+import com.fmd.app.query.QueryRejectedException;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The storage tiers a person grid request can read.
+ * <p>
+ * The tier is selected with a pseudo filter row on the {@code tier} column using the
+ * {@code equals} operator, e.g. {@code tier equals all}. Without such a row only the active
+ * tier is read.
+ * </p>
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+public enum PersonTier {
+
+    /** Rows modified recently, stored in {@code person}. */
+    ACTIVE,
+    /** Rows moved to {@code person_archive}. */
+    ARCHIVED,
+    /** Both tiers. */
+    ALL;
+
+    /** The filter column selecting the tier. */
+    public static final String COLUMN = "tier";
+
+    /**
+     * Resolves the tier requested by the filter rows.
+     *
+     * @param filter the filter rows, may be {@code null}
+     * @return the requested tier, {@link #ACTIVE} if none is requested
+     * @throws QueryRejectedException if the tier row is invalid or several tiers are requested
+     */
+    public static PersonTier of(List<FilterRow> filter) {
+        List<FilterRow> rows = filter == null ? List.of() : filter.stream()
+                .filter(row -> COLUMN.equals(row.column()) && row.value() != null && !row.value().isEmpty())
+                .toList();
+        if (rows.isEmpty()) {
+            return ACTIVE;
+        }
+        if (rows.size() > 1 || !"equals".equals(rows.get(0).operator())) {
+            throw new QueryRejectedException("Select a single tier with 'tier equals active|archived|all'");
+        }
+        String value = rows.get(0).value().trim().toUpperCase(Locale.ROOT);
+        try {
+            return valueOf(value);
+        } catch (IllegalArgumentException e) {
+            throw new QueryRejectedException("Unknown tier '" + rows.get(0).value() + "', use active, archived or all");
+        }
+    }
+
+    /**
+     * Removes the tier rows, leaving the filters on real columns.
+     *
+     * @param filter the filter rows, may be {@code null}
+     * @return the remaining rows
+     */
+    public static List<FilterRow> withoutTier(List<FilterRow> filter) {
+        return filter == null ? null : filter.stream()
+                .filter(row -> !COLUMN.equals(row.column()))
+                .toList();
+    }
+}
@@ -0,0 +1,247 @@
+package com.fmd.app.tiering;
+
+import com.fmd.app.data.Person;
+import com.fmd.app.data.PersonArchive;
+import com.fmd.app.data.PersonArchiveRepository;
+import com.fmd.app.data.PersonChangeObserver;
+import com.fmd.app.data.PersonRepository;
+import com.fmd.app.dto.PersonDTO;
+import com.fmd.app.dto.mapper.PersonMapper;
+import com.fmd.app.query.TableStatistics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Moves persons between the active table and the archive in bounded batches.
+ * <p>
+ * Each run archives rows whose {@code last_modified} is older than
+ * {@link TieringProperties#coldAfter()}, at most {@link TieringProperties#batchSize()} rows per
+ * transaction and {@link TieringProperties#maxBatches()} transactions per run, so a run never
+ * holds locks or a transaction for long. The oldest rows are found through the
+ * {@code last_modified} index. A row updated while its batch is moved stays active: it is only
+ * deleted from {@code person} if the archived copy has the same version.
+ * </p>
+ * <p>
+ * Rows are moved with plain SQL, so the JPA entity listener does not fire; the
+ * {@link PersonChangeObserver}s are notified here after each batch commits.
+ * </p>
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Component
+public class PersonTierMover {
+
+    private static final String SELECT_COLD = """
+            select id from person where last_modified < :cutoff order by last_modified limit :limit""";
+    private static final String COPY_TO_ARCHIVE = """
+            insert into person_archive (id, version, first_name, last_name, email, phone, address, last_modified, archived_at)
+            select id, version, first_name, last_name, email, phone, address, last_modified, :now
+            from person where id in (:ids)""";
+    private static final String DELETE_ARCHIVED = """
+            delete from person p where p.id in (:ids)
+            and exists (select 1 from person_archive a where a.id = p.id and a.version = p.version)""";
+    private static final String DROP_STALE_COPIES = """
+            delete from person_archive a where a.id in (:ids) and a.archived_at = :now
+            and exists (select 1 from person p where p.id = a.id)""";
+    private static final String SELECT_MOVED = """
+            select id from person_archive where id in (:ids) and archived_at = :now""";
+    private static final String COPY_TO_ACTIVE = """
+            insert into person (id, version, first_name, last_name, email, phone, address, last_modified)
+            select id, version, first_name, last_name, email, phone, address, :now
+            from person_archive where id = :id""";
+    private static final String DELETE_RESTORED = "delete from person_archive where id = :id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PersonRepository personRepository;
+    private final PersonArchiveRepository archiveRepository;
+    private final PersonMapper personMapper;
+    private final TableStatistics tableStatistics;
+    private final ObjectProvider<PersonChangeObserver> observers;
+    private final TieringProperties properties;
+
+    private final ReentrantLock runLock = new ReentrantLock();
+    private volatile TierRun lastRun;
+
+    /**
+     * Result of a mover run.
+     *
+     * @param startedAt when the run started
+     * @param cutoff    rows last modified before this instant were eligible
+     * @param moved     the number of rows archived
+     * @param batches   the number of batches executed
+     * @param duration  how long the run took
+     */
+    public record TierRun(Instant startedAt, Instant cutoff, long moved, int batches, Duration duration) {}
+
+    /**
+     * Creates the mover.
+     *
+     * @param jdbcTemplate       the template used for the bulk statements
+     * @param transactionManager the transaction manager wrapping each batch
+     * @param personRepository   the repository of active persons
+     * @param archiveRepository  the archive repository
+     * @param personMapper       the mapper creating observer notifications
+     * @param tableStatistics    the statistics invalidated after rows moved
+     * @param observers          the observers notified of moved rows
+     * @param properties         the tiering configuration
+     */
+    public PersonTierMover(NamedParameterJdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           PersonRepository personRepository,
+                           PersonArchiveRepository archiveRepository,
+                           PersonMapper personMapper,
+                           TableStatistics tableStatistics,
+                           ObjectProvider<PersonChangeObserver> observers,
+                           TieringProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.personRepository = personRepository;
+        this.archiveRepository = archiveRepository;
+        this.personMapper = personMapper;
+        this.tableStatistics = tableStatistics;
+        this.observers = observers;
+        this.properties = properties;
+    }
+
+    /**
+     * Archives cold rows on the configured interval.
+     */
+    @Scheduled(fixedDelayString = "${app.tiering.interval:1h}", initialDelayString = "${app.tiering.interval:1h}")
+    public void scheduledRun() {
+        if (properties.enabled()) {
+            run();
+        }
+    }
+
+    /**
+     * Archives cold rows now, unless a run is already in progress.
+     *
+     * @return the result of this run, or the previous result if a run is already in progress
+     */
+    public TierRun run() {
+        if (!runLock.tryLock()) {
+            log.debug("Tier mover already running, skipping");
+            return lastRun;
+        }
+        try {
+            Instant start = Instant.now();
+            Instant cutoff = start.minus(properties.coldAfter());
+            long moved = 0;
+            int batches = 0;
+            while (batches < properties.maxBatches()) {
+                int batchMoved = moveBatch(cutoff);
+                batches++;
+                moved += batchMoved;
+                if (batchMoved < properties.batchSize()) {
+                    break;
+                }
+            }
+            if (moved > 0) {
+                tableStatistics.invalidate(Person.class);
+                tableStatistics.invalidate(PersonArchive.class);
+            }
+            lastRun = new TierRun(start, cutoff, moved, batches, Duration.between(start, Instant.now()));
+            log.info("Archived {} persons last modified before {} in {} batch(es)", moved, cutoff, batches);
+            return lastRun;
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    /**
+     * Moves an archived person back to the active tier, e.g. because it is needed again.
+     * The row's {@code last_modified} is reset, so it is not archived again right away.
+     * <p>
+     * Emails are unique within the active tier only, so an active person may have taken the
+     * email while this person was archived. The restore is then refused and the person stays
+     * archived.
+     * </p>
+     *
+     * @param id the person id
+     * @return the restored person, or empty if no archived person has that id
+     * @throws RestoreConflictException if an active person uses the same email
+     */
+    public Optional<PersonDTO> restore(long id) {
+        Optional<PersonDTO> restored = transactionTemplate.execute(status -> {
+            Optional<PersonArchive> archived = archiveRepository.findById(id);
+            if (archived.isEmpty()) {
+                return Optional.empty();
+            }
+            String email = archived.get().getEmailNormalized();
+            if (email != null && personRepository.existsByEmailNormalized(email)) {
+                throw new RestoreConflictException(id, email);
+            }
+            MapSqlParameterSource params = new MapSqlParameterSource("id", id).addValue("now", timestamp(Instant.now()));
+            try {
+                jdbcTemplate.update(COPY_TO_ACTIVE, params);
+            } catch (DuplicateKeyException e) {
+                // an active person took the email after the check
+                throw new RestoreConflictException(id, email);
+            }
+            jdbcTemplate.update(DELETE_RESTORED, params);
+            return archived.map(personMapper::toDto);
+        });
+        if (restored != null && restored.isPresent()) {
+            tableStatistics.invalidate(Person.class);
+            tableStatistics.invalidate(PersonArchive.class);
+            observers.orderedStream().forEach(observer -> observer.onSaved(restored.get()));
+            log.info("Restored person {} from the archive", id);
+            return restored;
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the result of the last run.
+     *
+     * @return the last run, or {@code null} if the mover has not run yet
+     */
+    public TierRun getLastRun() {
+        return lastRun;
+    }
+
+    private int moveBatch(Instant cutoff) {
+        OffsetDateTime now = timestamp(Instant.now());
+        List<Long> moved = transactionTemplate.execute(status -> {
+            List<Long> ids = jdbcTemplate.queryForList(SELECT_COLD, new MapSqlParameterSource("cutoff", timestamp(cutoff))
+                    .addValue("limit", properties.batchSize()), Long.class);
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            MapSqlParameterSource params = new MapSqlParameterSource("ids", ids).addValue("now", now);
+            jdbcTemplate.update(COPY_TO_ARCHIVE, params);
+            jdbcTemplate.update(DELETE_ARCHIVED, params);
+            // rows updated concurrently stayed active; drop their archived copies
+            jdbcTemplate.update(DROP_STALE_COPIES, params);
+            return jdbcTemplate.queryForList(SELECT_MOVED, params, Long.class);
+        });
+        if (moved == null || moved.isEmpty()) {
+            return 0;
+        }
+        moved.forEach(id -> observers.orderedStream().forEach(observer -> observer.onRemoved(id)));
+        return moved.size();
+    }
+
+    private static OffsetDateTime timestamp(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,27 @@
+package com.fmd.app.tiering;
+
+/**
+ * Thrown when an archived person cannot be moved back to the active tier because an active
+ * person already uses the same normalised email.
+ * <p>
+ * Emails are only unique within the active tier, so an archived email may be reused while its
+ * person is archived. Such a person must be changed or the active duplicate resolved before the
+ * restore can succeed.
+ * </p>
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+public class RestoreConflictException extends IllegalStateException {
+
+    /**
+     * Creates a new exception for the given person and email.
+     *
+     * @param id    the archived person id
+     * @param email the normalised email in use
+     */
+    public RestoreConflictException(long id, String email) {
+        super("Person " + id + " cannot be restored: the email '" + email + "' is used by an active person");
+    }
+}
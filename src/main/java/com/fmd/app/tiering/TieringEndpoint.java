@@ -0,0 +1,83 @@
+package com.fmd.app.tiering;
+
+import com.fmd.app.data.Person;
+import com.fmd.app.data.PersonArchive;
+import com.fmd.app.query.TableStatistics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint for hot/cold tiering of persons.
+ * <ul>
+ *     <li>{@code GET /actuator/tiering} returns the tier sizes and the last mover run</li>
+ *     <li>{@code POST /actuator/tiering} runs the mover now</li>
+ *     <li>{@code POST /actuator/tiering/{id}} moves an archived person back to the active tier</li>
+ * </ul>
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+@Endpoint(id = "tiering")
+@RequiredArgsConstructor
+public class TieringEndpoint {
+
+    private final PersonTierMover mover;
+    private final TableStatistics tableStatistics;
+
+    /**
+     * Report returned by the endpoint.
+     *
+     * @param activeRows   the estimated number of active rows
+     * @param archivedRows the estimated number of archived rows
+     * @param lastRun      the last mover run, or {@code null}
+     */
+    public record Report(long activeRows, long archivedRows, PersonTierMover.TierRun lastRun) {}
+
+    /**
+     * Returns the tier sizes and the last mover run.
+     *
+     * @return the report
+     */
+    @ReadOperation
+    public Report report() {
+        return new Report(tableStatistics.statsFor(Person.class).rowCount(),
+                tableStatistics.statsFor(PersonArchive.class).rowCount(), mover.getLastRun());
+    }
+
+    /**
+     * Runs the mover.
+     *
+     * @return the result of the run
+     */
+    @WriteOperation
+    public PersonTierMover.TierRun run() {
+        return mover.run();
+    }
+
+    /**
+     * Moves an archived person back to the active tier.
+     *
+     * @param id the person id
+     * @return the restored person; {@code 404} if no archived person has that id, or {@code 409}
+     * with the reason if an active person uses the same email
+     */
+    @WriteOperation
+    public WebEndpointResponse<Object> restore(@Selector long id) {
+        try {
+            return mover.restore(id)
+                    .<WebEndpointResponse<Object>>map(WebEndpointResponse::new)
+                    .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+        } catch (RestoreConflictException e) {
+            return new WebEndpointResponse<>(Map.of("error", e.getMessage()), 409);
+        }
+    }
+}
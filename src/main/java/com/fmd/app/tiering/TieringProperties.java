@@ -0,0 +1,30 @@
+package com.fmd.app.tiering;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for hot/cold tiering of persons.
+ * <p>
+ * Bound from the {@code app.tiering} prefix.
+ * </p>
+ *
+ * @param enabled        whether the background mover archives cold rows
+ * @param coldAfter      how long a row must stay unmodified before it is archived
+ * @param interval       how often the mover runs
+ * @param batchSize      the number of rows moved per transaction
+ * @param maxBatches     the maximum number of batches per run, bounding the work of a single run
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@ConfigurationProperties(prefix = "app.tiering")
+public record TieringProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("365d") Duration coldAfter,
+        @DefaultValue("1h") Duration interval,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("20") int maxBatches
+) {}
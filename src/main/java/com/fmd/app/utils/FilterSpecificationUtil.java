@@ -1,11 +1,19 @@
 package com.fmd.app.utils;
 
 import com.fmd.app.dto.FilterRow;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.support.DefaultConversionService;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.ClassUtils;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -26,10 +34,10 @@ public class FilterSpecificationUtil {
                     String val = row.value();
                     String op = row.operator();
                     switch (op) {
-                        case "contains" -> predicates.add(cb.like(cb.lower(root.get(col)), "%" + val.toLowerCase() + "%"));
-                        case "equals" -> predicates.add(cb.equal(root.get(col), val));
-                        case "startsWith" -> predicates.add(cb.like(cb.lower(root.get(col)), val.toLowerCase() + "%"));
-                        case "endsWith" -> predicates.add(cb.like(cb.lower(root.get(col)), "%" + val.toLowerCase()));
+                        case "contains" -> predicates.add(cb.like(cb.lower(text(root.get(col), op)), "%" + val.toLowerCase() + "%"));
+                        case "equals" -> predicates.add(cb.equal(root.get(col), typedValue(root.get(col).getJavaType(), val)));
+                        case "startsWith" -> predicates.add(cb.like(cb.lower(text(root.get(col), op)), val.toLowerCase() + "%"));
+                        case "endsWith" -> predicates.add(cb.like(cb.lower(text(root.get(col), op)), "%" + val.toLowerCase()));
                         // Add more operators as needed
                         default -> throw new IllegalArgumentException("Unsupported operator: " + op);
                     }
@@ -38,4 +46,40 @@ public class FilterSpecificationUtil {
             return cb.and(predicates.toArray(new Predicate[0]));
         };
     }
+
+    /**
+     * Converts a filter value to the Java type of the filtered attribute, so that {@code equals}
+     * binds e.g. a {@code Long} for an id column instead of a string.
+     *
+     * @param type  the attribute type
+     * @param value the filter value
+     * @return the converted value
+     * @throws IllegalArgumentException if the value cannot be converted to the type
+     */
+    public static Object typedValue(Class<?> type, String value) {
+        Class<?> target = ClassUtils.resolvePrimitiveIfNecessary(type);
+        if (target == String.class) {
+            return value;
+        }
+        try {
+            if (target == Instant.class) {
+                return Instant.parse(value.trim());
+            }
+            Object converted = DefaultConversionService.getSharedInstance().convert(value.trim(), target);
+            if (converted == null) {
+                throw new IllegalArgumentException("'" + value + "' is not a valid " + target.getSimpleName());
+            }
+            return converted;
+        } catch (ConversionException | DateTimeParseException e) {
+            throw new IllegalArgumentException("'" + value + "' is not a valid " + target.getSimpleName(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Expression<String> text(Path<?> path, String operator) {
+        if (path.getJavaType() != String.class) {
+            throw new IllegalArgumentException("Operator '" + operator + "' requires a text column");
+        }
+        return (Expression<String>) path;
+    }
 }
@@ -0,0 +1,122 @@
+package com.fmd.app.data;
+
+import com.fmd.app.dto.PageSortRequest;
+import com.fmd.app.dto.PersonDTO;
+import com.fmd.app.dto.mapper.PersonMapper;
+import com.fmd.app.rank.SortRankIndex;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.data.domain.Sort.Direction.ASC;
+
+/**
+ * Checks that the {@link PersonIndexLoader} never overwrites a change notified during the load
+ * with the row it read before, and that disabled indexes stay empty.
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@DataJpaTest(properties = "spring.sql.init.mode=never")
+class PersonIndexLoaderTest {
+
+    @Autowired
+    private PersonRepository repository;
+
+    private final PersonMapper personMapper = Mappers.getMapper(PersonMapper.class);
+
+    @Test
+    void changesNotifiedDuringTheLoadWinOverTheRowsReadBefore() {
+        List<Person> persons = repository.saveAllAndFlush(List.of(
+                new Person("Ada", "Lovelace", "ada@example.com", null, null),
+                new Person("Alan", "Turing", "alan@example.com", null, null),
+                new Person("Grace", "Hopper", "grace@example.com", null, null)));
+        Long first = persons.get(0).getId();
+        Long updated = persons.get(1).getId();
+        Long removed = persons.get(2).getId();
+        PersonDTO newer = new PersonDTO(updated, "Alan", "Turing", "alan.turing@example.com", null, null);
+
+        RecordingIndex index = new RecordingIndex();
+        PersonIndexLoader loader = new PersonIndexLoader(repository, personMapper, List.of(index),
+                new PersonIndexProperties(true));
+        // commits of the other two persons arrive while the first row of the batch is loaded,
+        // delivered like PersonEntityListener does: the loader first, then the indexes
+        index.whileLoading = person -> {
+            if (person.id().equals(first)) {
+                loader.onSaved(newer);
+                index.onSaved(newer);
+                loader.onRemoved(removed);
+                index.onRemoved(removed);
+            }
+        };
+        loader.load();
+
+        assertThat(index.persons).containsOnlyKeys(first, updated);
+        assertThat(index.persons.get(updated)).isEqualTo(newer);
+        assertThat(index.loaded).isTrue();
+    }
+
+    @Test
+    void changesAfterTheLoadAreNotTracked() {
+        Person person = repository.saveAndFlush(new Person("Ada", "Lovelace", "ada@example.com", null, null));
+        RecordingIndex index = new RecordingIndex();
+        PersonIndexLoader loader = new PersonIndexLoader(repository, personMapper, List.of(index),
+                new PersonIndexProperties(true));
+        loader.load();
+
+        loader.onRemoved(person.getId());
+        loader.load();
+
+        assertThat(index.persons).containsOnlyKeys(person.getId());
+    }
+
+    @Test
+    void disabledIndexesStayEmptyAndCoverNothing() {
+        Person person = repository.saveAndFlush(new Person("Ada", "Lovelace", "ada@example.com", null, null));
+        SortRankIndex index = new SortRankIndex();
+        new PersonIndexLoader(repository, personMapper, List.of(index), new PersonIndexProperties(false)).load();
+
+        index.onSaved(personMapper.toDto(person));
+
+        assertThat(index.size()).isZero();
+        assertThat(index.covers(Person.class, List.of(new PageSortRequest.SortRequest("lastName", ASC)), List.of()))
+                .isFalse();
+    }
+
+    private static class RecordingIndex implements PersonIndex {
+
+        private final Map<Long, PersonDTO> persons = new ConcurrentHashMap<>();
+        private Consumer<PersonDTO> whileLoading = person -> {
+        };
+        private boolean loaded;
+
+        @Override
+        public void load(PersonDTO person) {
+            onSaved(person);
+            whileLoading.accept(person);
+        }
+
+        @Override
+        public void afterLoad() {
+            loaded = true;
+        }
+
+        @Override
+        public void onSaved(PersonDTO person) {
+            persons.put(person.id(), person);
+        }
+
+        @Override
+        public void onRemoved(Long id) {
+            persons.remove(id);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.fmd.app.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the routing decisions of the {@link ReadWriteRoutingDataSource}: read-only versus
+ * read/write transactions, the read-your-writes window after a flushed write and the fallback to
+ * the primary while the replica lags, is unreachable or paused.
+ * <p>
+ * Transactions are simulated through {@link TransactionSynchronizationManager}; the lag is
+ * measured by a real {@link ReplicaLagMonitor} against two in-memory H2 databases.
+ * </p>
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private static final Duration READ_YOUR_WRITES_WINDOW = Duration.ofMillis(200);
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+    private ReplicaLagMonitor lagMonitor;
+    private ReadWriteRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        String name = UUID.randomUUID().toString();
+        DriverManagerDataSource primaryDataSource = new DriverManagerDataSource("jdbc:h2:mem:primary-" + name + ";DB_CLOSE_DELAY=-1");
+        DriverManagerDataSource replicaDataSource = new DriverManagerDataSource("jdbc:h2:mem:replica-" + name + ";DB_CLOSE_DELAY=-1");
+        ReplicaDataSourceProperties properties = new ReplicaDataSourceProperties(true, null, null, null,
+                Duration.ofSeconds(5), Duration.ofSeconds(1), READ_YOUR_WRITES_WINDOW, false, Duration.ofSeconds(2));
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("create table replica_heartbeat (id int primary key, written_at bigint not null)");
+        lagMonitor = new ReplicaLagMonitor(primaryDataSource, replicaDataSource, properties);
+        routing = new ReadWriteRoutingDataSource(lagMonitor, new ReadYourWritesTracker(properties));
+        replicaHeartbeatAge(Duration.ZERO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.clear();
+        SecurityContextHolder.clearContext();
+        primary.execute("shutdown");
+        replica.execute("shutdown");
+    }
+
+    @Test
+    void workOutsideTransactionsUsesThePrimary() {
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(DataSourceRole.PRIMARY);
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplica() {
+        beginTransaction(true);
+
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(DataSourceRole.REPLICA);
+    }
+
+    @Test
+    void readWriteTransactionsUseThePrimary() {
+        beginTransaction(false);
+
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(DataSourceRole.PRIMARY);
+    }
+
+    @Test
+    void flushedWritePinsTheUserToThePrimaryForTheWindow() throws InterruptedException {
+        authenticate("ada");
+        beginTransaction(false);
+        routing.determineCurrentLookupKey();
+        ReadWriteRoutingDataSource.recordFlushedWrite();
+        commit();
+
+        beginTransaction(true);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(DataSourceRole.PRIMARY);
+        authenticate("grace");
+        assertThat(routing.determineCurrentLookupKey()).as("other users").isEqualTo(DataSourceRole.REPLICA);
+
+        authenticate("ada");
+        Thread.sleep(READ_YOUR_WRITES_WINDOW.toMillis() + 100);
+        assertThat(routing.determineCurrentLookupKey()).as("after the window").isEqualTo(DataSourceRole.REPLICA);
+    }
+
+    @Test
+    void readWriteTransactionWithoutFlushedWriteDoesNotPinTheUser() {
+        authenticate("ada");
+        beginTransaction(false);
+        routing.determineCurrentLookupKey();
+        commit();
+
+        beginTransaction(true);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(DataSourceRole.REPLICA);
+    }
+
+    @Test
+    void rolledBackWriteDoesNotPinTheUser() {
+        authenticate("ada");
+        beginTransaction(false);
+        routing.determineCurrentLookupKey();
+        ReadWriteRoutingDataSource.recordFlushedWrite();
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        beginTransaction(true);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(DataSourceRole.REPLICA);
+    }
+
+    @Test
+    void laggingReplicaFallsBackToThePrimary() {
+        replicaHeartbeatAge(Duration.ofMinutes(1));
+        beginTransaction(true);
+
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(DataSourceRole.PRIMARY);
+
+        replicaHeartbeatAge(Duration.ZERO);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(DataSourceRole.REPLICA);
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToThePrimary() {
+        replica.execute("drop table replica_heartbeat");
+        lagMonitor.check();
+        beginTransaction(true);
+
+        assertThat(lagMonitor.getLag()).isNull();
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(DataSourceRole.PRIMARY);
+    }
+
+    @Test
+    void pausedReplicaFallsBackToThePrimaryUntilMeasuredAgain() {
+        beginTransaction(true);
+        lagMonitor.pause();
+
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(DataSourceRole.PRIMARY);
+
+        lagMonitor.resume();
+        assertThat(routing.determineCurrentLookupKey()).as("before the next check").isEqualTo(DataSourceRole.PRIMARY);
+        lagMonitor.check();
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(DataSourceRole.REPLICA);
+    }
+
+    // Stores a heartbeat of the given age on the replica and lets the monitor measure it
+    private void replicaHeartbeatAge(Duration age) {
+        replica.update("merge into replica_heartbeat (id, written_at) key (id) values (1, ?)",
+                System.currentTimeMillis() - age.toMillis());
+        lagMonitor.check();
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(username, null, List.of()));
+    }
+
+    private static void beginTransaction(boolean readOnly) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.initSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    private static void commit() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+}
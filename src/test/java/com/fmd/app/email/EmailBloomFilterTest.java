@@ -0,0 +1,71 @@
+package com.fmd.app.email;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the {@link EmailBloomFilter} never reports an added email as absent, keeps close to
+ * its false positive rate and only counts distinct emails as entries.
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+class EmailBloomFilterTest {
+
+    @Test
+    void addedEmailsAreNeverReportedAbsent() {
+        EmailBloomFilter filter = new EmailBloomFilter(10_000, 0.01);
+        List<String> emails = randomEmails(new Random(42), 10_000);
+        emails.forEach(filter::put);
+
+        assertThat(emails).allMatch(filter::mightContain);
+    }
+
+    @Test
+    void addedEmailsAreFoundEvenAboveCapacity() {
+        EmailBloomFilter filter = new EmailBloomFilter(100, 0.01);
+        List<String> emails = randomEmails(new Random(7), 5_000);
+        emails.forEach(filter::put);
+
+        assertThat(emails).allMatch(filter::mightContain);
+        assertThat(filter.isSaturated()).isTrue();
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTheTargetAtCapacity() {
+        EmailBloomFilter filter = new EmailBloomFilter(10_000, 0.01);
+        randomEmails(new Random(1), 10_000).forEach(filter::put);
+
+        long falsePositives = randomEmails(new Random(2), 10_000).stream()
+                .map(email -> "other." + email)
+                .filter(filter::mightContain)
+                .count();
+
+        assertThat(falsePositives).isLessThan(200);
+    }
+
+    @Test
+    void addingAnEmailAgainDoesNotCountAsAnEntry() {
+        EmailBloomFilter filter = new EmailBloomFilter(10, 0.01);
+        for (int i = 0; i < 100; i++) {
+            filter.put("ada@example.com");
+        }
+
+        assertThat(filter.entries()).isEqualTo(1);
+        assertThat(filter.isSaturated()).isFalse();
+    }
+
+    private static List<String> randomEmails(Random random, int count) {
+        List<String> emails = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            emails.add(Long.toString(random.nextLong() & Long.MAX_VALUE, 36) + "." + i + "@example.com");
+        }
+        return emails;
+    }
+}
@@ -0,0 +1,113 @@
+package com.fmd.app.email;
+
+import com.fmd.app.data.Person;
+import com.fmd.app.data.PersonArchiveRepository;
+import com.fmd.app.data.PersonRepository;
+import com.fmd.app.dto.PersonDTO;
+import com.fmd.app.query.QueryRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks the batch lookups of the {@link EmailRegistry}: emails are looked up in chunks across
+ * both tiers, taken emails are found with and without the filter, and oversized batches are
+ * rejected.
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@DataJpaTest(properties = {
+        "spring.sql.init.mode=never",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class EmailRegistryTest {
+
+    private static final int MAX_BATCH_SIZE = 1500;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private PersonArchiveRepository archiveRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private EmailRegistry registry;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new EmailRegistry(personRepository, archiveRepository,
+                new EmailUniquenessProperties(1000, 0.01, MAX_BATCH_SIZE), new SimpleMeterRegistry());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void looksUpCandidatesInChunksOfBothTiers() {
+        List<String> emails = emails(1200);
+        // taken emails at the first and last position of each chunk of 500
+        List<String> taken = List.of(emails.get(0), emails.get(499), emails.get(500), emails.get(999),
+                emails.get(1000), emails.get(1199));
+        taken.forEach(email -> personRepository.save(new Person("Test", "Person", email.toUpperCase(), null, null)));
+        personRepository.flush();
+
+        statistics.clear();
+        // the filter is not built, so every email is a candidate
+        assertThat(registry.findTaken(emails)).containsExactlyInAnyOrderElementsOf(taken);
+        // three chunks, each looked up in the active and the archived tier
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(6);
+    }
+
+    @Test
+    void normalisesAndDeduplicatesTheBatch() {
+        personRepository.saveAndFlush(new Person("Ada", "Lovelace", "ada@example.com", null, null));
+
+        statistics.clear();
+        assertThat(registry.findTaken(List.of(" ADA@example.com", "ada@example.com ", "", "new@example.com")))
+                .containsExactly("ada@example.com");
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(2);
+    }
+
+    @Test
+    void findsTakenEmailsThroughTheBuiltFilter() {
+        List<String> emails = emails(50);
+        emails.subList(0, 10).forEach(email -> personRepository.save(new Person("Test", "Person", email, null, null)));
+        personRepository.flush();
+        registry.beforeLoad();
+        personRepository.findAll().forEach(person -> registry.load(new PersonDTO(person.getId(),
+                person.getFirstName(), person.getLastName(), person.getEmail(), person.getPhone(), person.getAddress())));
+        registry.afterLoad();
+
+        assertThat(registry.findTaken(emails)).containsExactlyInAnyOrderElementsOf(emails.subList(0, 10));
+        assertThat(emails.subList(0, 10)).noneMatch(registry::isAvailable);
+    }
+
+    @Test
+    void rejectsBatchesOverTheLimit() {
+        assertThatThrownBy(() -> registry.findTaken(emails(MAX_BATCH_SIZE + 1)))
+                .isInstanceOf(QueryRejectedException.class);
+        assertThat(registry.findTaken(emails(MAX_BATCH_SIZE))).isEmpty();
+    }
+
+    private static List<String> emails(int count) {
+        List<String> emails = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            emails.add("person" + i + "@example.com");
+        }
+        return emails;
+    }
+}
@@ -0,0 +1,137 @@
+package com.fmd.app.query;
+
+import com.fmd.app.data.Person;
+import com.fmd.app.data.PersonRepository;
+import com.fmd.app.dto.FilterRow;
+import com.fmd.app.dto.PageSortRequest;
+import com.fmd.app.utils.FilterSpecificationUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.data.domain.Sort.Direction.ASC;
+
+/**
+ * Checks the validation, capping and cost rejection of the {@link QueryGovernor} against the
+ * real {@code person} mapping and table statistics.
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@DataJpaTest(properties = {
+        "spring.sql.init.mode=never",
+        "app.query-governor.max-page-size=50",
+        "app.query-governor.max-filters=3",
+        "app.query-governor.max-scanned-rows=1000",
+        "app.query-governor.statement-timeout=5s",
+        "app.query-governor.time-budget=1500ms"
+})
+class QueryGovernorTest {
+
+    @TestConfiguration
+    @EnableConfigurationProperties({QueryGovernorProperties.class, IndexAdvisorProperties.class})
+    @Import({QueryGovernor.class, TableStatistics.class, WorkloadRecorder.class})
+    static class Config {
+    }
+
+    @Autowired
+    private QueryGovernor governor;
+
+    @Autowired
+    private PersonRepository repository;
+
+    @Test
+    void rejectsUnknownColumns() {
+        assertRejected(page(0, 10, "lastName"), List.of(new FilterRow("salary", "equals", "1")));
+        assertRejected(page(0, 10, "salary"), List.of());
+        // the optimistic lock version is not a grid column
+        assertRejected(page(0, 10, "version"), List.of());
+    }
+
+    @Test
+    void rejectsUnsupportedOperatorsAndTooManyFilters() {
+        assertRejected(page(0, 10, "lastName"), List.of(new FilterRow("lastName", "like", "a")));
+        assertRejected(page(0, 10, "lastName"), List.of(
+                new FilterRow("firstName", "contains", "a"),
+                new FilterRow("lastName", "contains", "b"),
+                new FilterRow("email", "contains", "c"),
+                new FilterRow("phone", "contains", "d")));
+    }
+
+    @Test
+    void acceptsTextOperatorsOnlyOnTextColumns() {
+        assertRejected(page(0, 10, "id"), List.of(new FilterRow("id", "contains", "1")));
+        assertRejected(page(0, 10, "id"), List.of(new FilterRow("lastModified", "startsWith", "2024")));
+        assertThat(governor.govern(Person.class, page(0, 10, "id"), List.of(new FilterRow("lastName", "endsWith", "son"))))
+                .isNotNull();
+    }
+
+    @Test
+    void rejectsEqualsValuesOfTheWrongType() {
+        assertRejected(page(0, 10, "id"), List.of(new FilterRow("id", "equals", "abc")));
+        assertRejected(page(0, 10, "id"), List.of(new FilterRow("lastModified", "equals", "yesterday")));
+        assertThat(governor.govern(Person.class, page(0, 10, "id"),
+                List.of(new FilterRow("lastModified", "equals", "2024-01-01T00:00:00Z")))).isNotNull();
+    }
+
+    @Test
+    void typedEqualsFilterFindsTheRow() {
+        Person saved = repository.saveAndFlush(new Person("Ada", "Lovelace", "ada@example.com", null, null));
+        GovernedQuery query = governor.govern(Person.class, page(0, 10, "id"),
+                List.of(new FilterRow("id", "equals", " " + saved.getId() + " ")));
+
+        assertThat(repository.findAll(FilterSpecificationUtil.buildSpecification(query.filter())))
+                .extracting(Person::getId)
+                .containsExactly(saved.getId());
+    }
+
+    @Test
+    void dropsBlankFilterRows() {
+        GovernedQuery query = governor.govern(Person.class, page(0, 10, "id"),
+                List.of(new FilterRow("lastName", "contains", ""), new FilterRow(null, "equals", "x")));
+
+        assertThat(query.filter()).isEmpty();
+    }
+
+    @Test
+    void capsThePageSizeAndKeepsTheFirstRequestedRow() {
+        GovernedQuery query = governor.govern(Person.class, page(1, 120, "id"), List.of());
+
+        assertThat(query.capped()).isTrue();
+        assertThat(query.pageSortRequest().pageSize()).isEqualTo(50);
+        // row 120 is the first row of the requested page and of the returned page 2 (rows 100-149)
+        assertThat(query.pageSortRequest().offset()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsRequestsOverTheRowBudget() {
+        // skipping 30 pages of 50 rows alone is 1500 row visits
+        assertRejected(page(30, 50, "id"), List.of());
+        assertThat(governor.govern(Person.class, page(10, 50, "id"), List.of()).cost().work()).isLessThanOrEqualTo(1000);
+    }
+
+    @Test
+    void deadlineIsTheSmallerOfTimeBudgetAndStatementTimeout() {
+        GovernedQuery query = governor.govern(Person.class, page(0, 10, "id"), List.of());
+
+        assertThat(query.timeout()).isEqualTo(Duration.ofMillis(1500));
+    }
+
+    private void assertRejected(PageSortRequest request, List<FilterRow> filter) {
+        assertThatThrownBy(() -> governor.govern(Person.class, request, filter))
+                .isInstanceOf(QueryRejectedException.class);
+    }
+
+    private static PageSortRequest page(int offset, int pageSize, String sortBy) {
+        return new PageSortRequest(offset, pageSize, List.of(new PageSortRequest.SortRequest(sortBy, ASC)));
+    }
+}
@@ -0,0 +1,114 @@
+package com.fmd.app.rank;
+
+import com.fmd.app.data.AbstractEntity;
+import com.fmd.app.data.Person;
+import com.fmd.app.data.PersonRepository;
+import com.fmd.app.dto.FilterRow;
+import com.fmd.app.dto.PageSortRequest;
+import com.fmd.app.dto.PersonDTO;
+import com.fmd.app.utils.FilterSpecificationUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that pages served by the {@link SortRankIndex} are the pages the database returns for
+ * the same request ordered by {@link SortRankIndex#queryOrder(Sort)}, including {@code null}
+ * values, ties, case and accent variants and descending order.
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@DataJpaTest(properties = "spring.sql.init.mode=never")
+class SortRankIndexConsistencyTest {
+
+    private static final Map<String, Function<Person, String>> COLUMNS = Map.of(
+            "firstName", Person::getFirstName,
+            "lastName", Person::getLastName,
+            "email", Person::getEmail,
+            "phone", Person::getPhone,
+            "address", Person::getAddress);
+
+    private static final int[] PAGE_SIZES = {1, 3, 7};
+
+    @Autowired
+    private PersonRepository repository;
+
+    private final SortRankIndex index = new SortRankIndex();
+
+    @BeforeEach
+    void setUp() {
+        repository.saveAllAndFlush(List.of(
+                new Person("Smith", "Smith", "smith@example.com", null, null),
+                new Person("smith", "Smith", "smith2@example.com", "555-0100", "1 Main St"),
+                new Person("SMITH", "smith", "Smith3@example.com", "555-0100", null),
+                new Person("Émile", "Zola", "emile@example.com", null, "1 Main St"),
+                new Person("Emile", "zola", "emile2@example.com", "555-0199", "Rue de la Paix"),
+                new Person("Zoë", "Ärger", "zoe@example.com", "+1 555 0100", "rue de la Paix"),
+                new Person("zoe", "Arger", "ZOE2@example.com", "", " 1 Main St"),
+                new Person("Anna", "Smith", "anna@example.com", "555-0100", ""),
+                new Person("anna", "Bell", "anna2@example.com", null, "1 main st"),
+                new Person("Anna", "Smith", "anna3@example.com", "555-0199", "1 Main St"),
+                new Person("Bob", "O'Brien", "bob@example.com", "555-0100", null),
+                new Person("Bob", "Obrien", "bob2@example.com", "", "Baker Street")));
+        index.beforeLoad();
+        repository.findAll().forEach(person -> index.load(new PersonDTO(person.getId(), person.getFirstName(),
+                person.getLastName(), person.getEmail(), person.getPhone(), person.getAddress())));
+        index.afterLoad();
+    }
+
+    @Test
+    void unfilteredPagesMatchTheDatabaseOrder() {
+        for (String column : COLUMNS.keySet()) {
+            for (Sort.Direction direction : Sort.Direction.values()) {
+                assertPagesMatch(column, direction, List.of());
+            }
+        }
+    }
+
+    @Test
+    void equalsFilteredPagesMatchTheDatabaseOrder() {
+        for (Map.Entry<String, Function<Person, String>> column : COLUMNS.entrySet()) {
+            List<String> values = repository.findAll().stream()
+                    .map(column.getValue())
+                    .filter(value -> value != null && !value.isEmpty())
+                    .distinct()
+                    .toList();
+            for (String value : values) {
+                for (Sort.Direction direction : Sort.Direction.values()) {
+                    assertPagesMatch(column.getKey(), direction, List.of(new FilterRow(column.getKey(), "equals", value)));
+                }
+            }
+        }
+    }
+
+    private void assertPagesMatch(String column, Sort.Direction direction, List<FilterRow> filter) {
+        for (int pageSize : PAGE_SIZES) {
+            for (int offset = 0; ; offset++) {
+                PageSortRequest request = new PageSortRequest(offset, pageSize,
+                        List.of(new PageSortRequest.SortRequest(column, direction)));
+                SortRankIndex.RankedPage ranked = index.page(request, filter).orElseThrow();
+                Page<Person> expected = repository.findAll(FilterSpecificationUtil.buildSpecification(filter),
+                        PageRequest.of(offset, pageSize, SortRankIndex.queryOrder(Sort.by(direction, column))));
+                String description = column + " " + direction + " " + filter + " page " + offset + " of size " + pageSize;
+                assertThat(ranked.ids()).as(description)
+                        .containsExactlyElementsOf(expected.map(AbstractEntity::getId).getContent());
+                assertThat(ranked.total()).as(description).isEqualTo(expected.getTotalElements());
+                if (ranked.ids().size() < pageSize) {
+                    break;
+                }
+            }
+        }
+    }
+}
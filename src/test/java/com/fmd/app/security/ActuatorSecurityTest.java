@@ -0,0 +1,57 @@
+package com.fmd.app.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that operations tools can call the actuator endpoints with HTTP Basic and without a
+ * session or CSRF token, and that only administrators can.
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@SpringBootTest(properties = {
+        "vaadin.launch-browser=false",
+        "app.warmup.enabled=false"
+})
+@AutoConfigureMockMvc
+class ActuatorSecurityTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void healthIsPublic() throws Exception {
+        mvc.perform(get("/actuator/health")).andExpect(status().isOk());
+    }
+
+    @Test
+    void administratorCanPostWithoutSessionOrCsrfToken() throws Exception {
+        mvc.perform(post("/actuator/tiering").with(httpBasic("admin", "admin")))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Set-Cookie"));
+    }
+
+    @Test
+    void anonymousCallsAreChallenged() throws Exception {
+        mvc.perform(post("/actuator/tiering"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().exists("WWW-Authenticate"));
+    }
+
+    @Test
+    void otherUsersAreForbidden() throws Exception {
+        mvc.perform(get("/actuator/tiering").with(httpBasic("user", "user")))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,235 @@
+package com.fmd.app.tiering;
+
+import com.fmd.app.data.Person;
+import com.fmd.app.data.PersonArchive;
+import com.fmd.app.data.PersonArchiveRepository;
+import com.fmd.app.data.PersonChangeObserver;
+import com.fmd.app.data.PersonRepository;
+import com.fmd.app.dto.PersonDTO;
+import com.fmd.app.dto.mapper.PersonMapper;
+import com.fmd.app.query.QueryGovernorProperties;
+import com.fmd.app.query.TableStatistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks the {@link PersonTierMover}: cold rows move in bounded batches, a row updated while its
+ * batch is moved stays active, and archived persons can be restored unless their email has been
+ * taken meanwhile.
+ * <p>
+ * The mover commits its own transactions, so the tests do not run in a test transaction and
+ * clean the tables afterwards.
+ * </p>
+ *
+ * @author Shailesh Halor
+ * @version 1.0
+ * @since 1.0
+ */
+@DataJpaTest(properties = "spring.sql.init.mode=never")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PersonTierMoverTest {
+
+    @TestConfiguration
+    @EnableConfigurationProperties(QueryGovernorProperties.class)
+    @Import(TableStatistics.class)
+    static class Config {
+
+        @Bean
+        RecordingObserver recordingObserver() {
+            return new RecordingObserver();
+        }
+    }
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private PersonArchiveRepository archiveRepository;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TableStatistics tableStatistics;
+
+    @Autowired
+    private ObjectProvider<PersonChangeObserver> observers;
+
+    @Autowired
+    private RecordingObserver observer;
+
+    private final PersonMapper personMapper = Mappers.getMapper(PersonMapper.class);
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.getJdbcTemplate().update("delete from person_archive");
+        jdbcTemplate.getJdbcTemplate().update("delete from person");
+    }
+
+    @Test
+    void movesColdRowsInBoundedBatches() {
+        List<Long> cold = persons("cold", 25, true);
+        List<Long> hot = persons("hot", 5, false);
+        PersonTierMover mover = mover(jdbcTemplate, 10, 2);
+        observer.clear();
+
+        PersonTierMover.TierRun first = mover.run();
+
+        assertThat(first.moved()).isEqualTo(20);
+        assertThat(first.batches()).isEqualTo(2);
+        assertThat(personRepository.count()).isEqualTo(10);
+        assertThat(archiveRepository.count()).isEqualTo(20);
+
+        PersonTierMover.TierRun second = mover.run();
+
+        assertThat(second.moved()).isEqualTo(5);
+        assertThat(second.batches()).isEqualTo(1);
+        assertThat(archiveRepository.findAll()).extracting(PersonArchive::getId).containsExactlyInAnyOrderElementsOf(cold);
+        assertThat(personRepository.findAll()).extracting(Person::getId).containsExactlyInAnyOrderElementsOf(hot);
+        assertThat(observer.removed).containsExactlyInAnyOrderElementsOf(cold);
+        assertThat(mover.getLastRun()).isEqualTo(second);
+    }
+
+    @Test
+    void keepsRowsUpdatedWhileTheirBatchIsMoved() {
+        List<Long> cold = persons("cold", 5, true);
+        Long updated = cold.get(2);
+        // another transaction updates one person between the copy to the archive and the delete
+        NamedParameterJdbcTemplate interfering = new NamedParameterJdbcTemplate(dataSource) {
+            @Override
+            public int update(String sql, SqlParameterSource params) {
+                int rows = super.update(sql, params);
+                if (sql.contains("insert into person_archive")) {
+                    getJdbcTemplate().update("update person set version = version + 1 where id = ?", updated);
+                }
+                return rows;
+            }
+        };
+        observer.clear();
+
+        PersonTierMover.TierRun run = mover(interfering, 10, 1).run();
+
+        assertThat(run.moved()).isEqualTo(4);
+        assertThat(personRepository.findAll()).extracting(Person::getId).containsExactly(updated);
+        assertThat(personRepository.findById(updated).orElseThrow().getVersion()).isEqualTo(1);
+        // the stale archived copy was dropped, so the person exists in one tier only
+        assertThat(archiveRepository.existsById(updated)).isFalse();
+        assertThat(archiveRepository.count()).isEqualTo(4);
+        assertThat(observer.removed).hasSize(4).doesNotContain(updated);
+    }
+
+    @Test
+    void restoresAnArchivedPerson() {
+        Long id = persons("cold", 1, true).get(0);
+        PersonTierMover mover = mover(jdbcTemplate, 10, 1);
+        mover.run();
+        observer.clear();
+        Instant beforeRestore = Instant.now().minusSeconds(1);
+
+        PersonDTO restored = mover.restore(id).orElseThrow();
+
+        assertThat(restored.id()).isEqualTo(id);
+        assertThat(archiveRepository.existsById(id)).isFalse();
+        Person person = personRepository.findById(id).orElseThrow();
+        assertThat(person.getEmail()).isEqualTo(restored.email());
+        // last_modified is reset, so the next run does not archive the person again
+        assertThat(person.getLastModified()).isAfter(beforeRestore);
+        assertThat(mover.run().moved()).isZero();
+        assertThat(observer.saved).extracting(PersonDTO::id).containsExactly(id);
+    }
+
+    @Test
+    void restoreOfAnUnknownIdIsEmpty() {
+        assertThat(mover(jdbcTemplate, 10, 1).restore(-1)).isEmpty();
+    }
+
+    @Test
+    void refusesToRestoreWhenAnActivePersonTookTheEmail() {
+        Long id = persons("taken", 1, true).get(0);
+        PersonTierMover mover = mover(jdbcTemplate, 10, 1);
+        mover.run();
+        personRepository.saveAndFlush(new Person("New", "Owner", "TAKEN0@example.com", null, null));
+        observer.clear();
+
+        assertThatThrownBy(() -> mover.restore(id))
+                .isInstanceOf(RestoreConflictException.class)
+                .hasMessageContaining("taken0@example.com");
+        assertThat(archiveRepository.existsById(id)).isTrue();
+        assertThat(personRepository.existsById(id)).isFalse();
+        assertThat(observer.saved).isEmpty();
+    }
+
+    private PersonTierMover mover(NamedParameterJdbcTemplate template, int batchSize, int maxBatches) {
+        TieringProperties properties = new TieringProperties(true, Duration.ofDays(365), Duration.ofHours(1),
+                batchSize, maxBatches);
+        return new PersonTierMover(template, transactionManager, personRepository, archiveRepository, personMapper,
+                tableStatistics, observers, properties);
+    }
+
+    private List<Long> persons(String prefix, int count, boolean cold) {
+        List<Person> persons = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            persons.add(new Person("First", "Last", prefix + i + "@example.com", null, null));
+        }
+        List<Long> ids = personRepository.saveAllAndFlush(persons).stream().map(Person::getId).toList();
+        if (cold) {
+            jdbcTemplate.update("update person set last_modified = :lastModified where id in (:ids)",
+                    new MapSqlParameterSource("ids", ids)
+                            .addValue("lastModified", OffsetDateTime.now(ZoneOffset.UTC).minusYears(2)));
+        }
+        return ids;
+    }
+
+    static class RecordingObserver implements PersonChangeObserver {
+
+        private final List<PersonDTO> saved = new CopyOnWriteArrayList<>();
+        private final List<Long> removed = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onSaved(PersonDTO person) {
+            saved.add(person);
+        }
+
+        @Override
+        public void onRemoved(Long id) {
+            removed.add(id);
+        }
+
+        void clear() {
+            saved.clear();
+            removed.clear();
+        }
+    }
+}